@@ -0,0 +1,120 @@
+package com.lite.lite_backend.config;
+
+import com.lite.lite_backend.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password encoder that runs the (deliberately slow) hashing work of another encoder
+ * on a small, dedicated thread pool.
+ * - At most {@code threads} hashes run at the same time
+ * - At most {@code queueCapacity} hashes wait for a free thread
+ * - Anything beyond that is rejected straight away with {@link PasswordHashingBusyException}
+ * so a login burst cannot tie up every request thread on BCrypt
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // Metrics: queue depth, busy threads, hash time and rejections
+        Gauge.builder("lite.auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("lite.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing threads currently busy")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("lite.auth.hashing.time")
+                .description("Time spent hashing or verifying passwords")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("lite.auth.hashing.time")
+                .description("Time spent hashing or verifying passwords")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("lite.auth.hashing.rejected")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Deciding whether a hash needs upgrading only inspects the stored hash, so it stays on the caller thread
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Run the hashing work on the pool and wait for its result
+     */
+    private <T> T submit(Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(work);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingBusyException();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,40 @@
+package com.lite.lite_backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lite.lite_backend.util.DataVersionRegistry;
+import com.lite.lite_backend.util.UserDataCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * In-memory caches backing {@link UserDataCache}
+     * - One entry per user; the least recently used users are evicted past {@code maxUsers}
+     * - Entries expire {@code ttlMinutes} after they were loaded, even while in use: a bound on staleness
+     *   should the version check ever be bypassed (e.g. data changed in the database by hand)
+     * - Caffeine statistics are recorded, so Actuator publishes cache.gets / cache.evictions as well
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${lite.cache.max-users:10000}") long maxUsers,
+            @Value("${lite.cache.ttl-minutes:5}") long ttlMinutes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats());
+        cacheManager.setCacheNames(Arrays.stream(DataVersionRegistry.Scope.values())
+                .map(UserDataCache::cacheName)
+                .collect(Collectors.toList()));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,85 @@
+package com.lite.lite_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica support, active only when {@code lite.datasource.replica.url} is set
+ * (otherwise Spring Boot's single spring.datasource pool is used as before).
+ * - "primary" pool: spring.datasource.* / spring.datasource.hikari.*; writes, Flyway and anything not read-only
+ * - "replica" pool: lite.datasource.replica.*; read-only transactions, see {@link ReadWriteRoutingDataSource}
+ * - Both pools publish hikaricp.* metrics, tagged {@code pool=primary|replica}
+ */
+@Configuration
+@ConditionalOnProperty(name = "lite.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${lite.datasource.replica.url}") String url,
+            @Value("${lite.datasource.replica.username:}") String username,
+            @Value("${lite.datasource.replica.password:}") String password,
+            @Value("${lite.datasource.replica.max-pool-size:10}") int maxPoolSize,
+            @Value("${lite.datasource.replica.connection-timeout-ms:2000}") long connectionTimeoutMs) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        // Same credentials as the primary unless the replica has its own
+        dataSource.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+        dataSource.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+        dataSource.setMaximumPoolSize(maxPoolSize);
+        // Fail fast on an unreachable replica; the lag check then moves reads back to the primary
+        dataSource.setConnectionTimeout(connectionTimeoutMs);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${lite.datasource.replica.max-lag-ms:5000}") long maxLagMs,
+            @Value("${lite.datasource.replica.sticky-ms:10000}") long stickyMs) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource,
+                Duration.ofMillis(maxLagMs), Duration.ofMillis(stickyMs), meterRegistry);
+    }
+
+    /**
+     * The DataSource JPA and JDBC code use. Connections are fetched from the routing
+     * on the first statement, once the transaction's read-only flag is set.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,22 @@
+package com.lite.lite_backend.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Adopt databases created by Hibernate's ddl-auto before migrations existed:
+     * a non-empty schema without history is baselined at version 0, so V1 still runs
+     * (its CREATE ... IF NOT EXISTS statements leave existing tables alone)
+     * and V1_1 adds the columns and tables such a schema may lack.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchema() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("0");
+    }
+}
@@ -0,0 +1,41 @@
+package com.lite.lite_backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    /**
+     * JDBC batching defaults
+     * - Group up to {@code batchSize} inserts/updates/deletes into one round trip
+     * - Order inserts and updates by entity so consecutive statements can share a batch
+     * - Entities with sequence ids get them in blocks, so inserts are batched too (IDENTITY ids are not)
+     * Values set under spring.jpa.properties.hibernate.* still take precedence.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${lite.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+            // Sequence ids (allocationSize 50): the sequence value is the first id of a block,
+            // the convention SequenceIdAllocator also follows for JDBC inserts
+            properties.putIfAbsent(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        };
+    }
+
+    /**
+     * The schema is owned by the Flyway migrations (db/migration); Hibernate only checks
+     * that the entities match it. Overrides spring.jpa.hibernate.ddl-auto.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer schemaActionCustomizer(
+            @Value("${lite.jpa.schema-action:validate}") String schemaAction) {
+        return properties -> properties.put(AvailableSettings.HBM2DDL_AUTO, schemaAction);
+    }
+}
@@ -0,0 +1,27 @@
+package com.lite.lite_backend.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Defaults for Spring Boot settings that differ from Boot's own defaults.
+ * Added with the lowest precedence, so application properties, environment variables
+ * and command line arguments still override them. Registered in META-INF/spring.factories.
+ * - spring.jpa.open-in-view=false: the persistence context (and its pooled connection) lives only
+ *   as long as a service / repository transaction, not for the whole request including JSON
+ *   serialization; lazy loading outside a transaction fails instead of querying silently
+ */
+public class LiteDefaultProperties implements EnvironmentPostProcessor {
+
+    private static final String SOURCE_NAME = "liteDefaults";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        environment.getPropertySources().addLast(new MapPropertySource(SOURCE_NAME, Map.of(
+                "spring.jpa.open-in-view", "false")));
+    }
+}
@@ -0,0 +1,179 @@
+package com.lite.lite_backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lite.lite_backend.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * DataSource that sends read-only transactions to a replica and everything else to the primary.
+ * - Only {@code @Transactional(readOnly = true)} work of a logged-in user reads from the replica;
+ *   writes, reads outside a read-only transaction and reads without a user (login, background jobs) use the primary
+ * - After a user's write, that user's reads stay on the primary for {@code stickyWindow},
+ *   so they always see their own changes (read-your-writes)
+ * - The replica is only used while its last measured lag is within {@code maxLag};
+ *   when it falls further behind or cannot be reached, reads fall back to the primary
+ * Must sit behind a {@link LazyConnectionDataSourceProxy}: a transaction is only known to be
+ * read-only once its first statement runs, not when it begins.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    // Zero on a primary, and on a replica that has replayed everything it received
+    // (an idle primary would otherwise look like growing lag)
+    private static final String LAG_QUERY = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    // Lag of a replica that could not be checked (yet)
+    private static final long UNKNOWN_LAG = -1;
+
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final Cache<Long, Boolean> recentWriters;
+    private volatile long replicaLagMillis = UNKNOWN_LAG;
+
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter anonymousReads;
+    private final Counter recentWriteReads;
+    private final Counter replicaLagReads;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+            Duration maxLag, Duration stickyWindow, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLagMillis = maxLag.toMillis();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .build();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+        // Metrics: where connections were routed and why, and the replica's lag
+        this.writes = routingCounter(meterRegistry, Target.PRIMARY, "write");
+        this.replicaReads = routingCounter(meterRegistry, Target.REPLICA, "read");
+        this.anonymousReads = routingCounter(meterRegistry, Target.PRIMARY, "no-user");
+        this.recentWriteReads = routingCounter(meterRegistry, Target.PRIMARY, "recent-write");
+        this.replicaLagReads = routingCounter(meterRegistry, Target.PRIMARY, "replica-lag");
+        Gauge.builder("lite.datasource.replica.lag", this, ReadWriteRoutingDataSource::replicaLagSeconds)
+                .description("Replication lag of the read replica in seconds (-1 when it cannot be reached)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("lite.datasource.replica.available", this, routing -> routing.isReplicaUsable() ? 1 : 0)
+                .description("1 while read-only transactions may use the replica, 0 while they fall back to the primary")
+                .register(meterRegistry);
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, Target target, String reason) {
+        return Counter.builder("lite.datasource.routing")
+                .description("Connections handed out by the read/write routing")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite(userId);
+            }
+            writes.increment();
+            return Target.PRIMARY;
+        }
+        if (userId == null) {
+            anonymousReads.increment();
+            return Target.PRIMARY;
+        }
+        if (recentWriters.getIfPresent(userId) != null) {
+            recentWriteReads.increment();
+            return Target.PRIMARY;
+        }
+        if (!isReplicaUsable()) {
+            replicaLagReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    /**
+     * Keep the user's reads on the primary from now, and again from the moment the write
+     * commits: a long transaction must not use up the window before its changes are replicated
+     */
+    private void recordWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        recentWriters.put(userId, Boolean.TRUE);
+                    }
+                }
+            });
+        }
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    boolean isReplicaUsable() {
+        long lag = replicaLagMillis;
+        return lag != UNKNOWN_LAG && lag <= maxLagMillis;
+    }
+
+    /**
+     * Measure how far the replica is behind the primary. Until the first successful check,
+     * and whenever a check fails, read-only transactions use the primary.
+     */
+    @Scheduled(fixedDelayString = "${lite.datasource.replica.lag-check-interval-ms:2000}")
+    public void checkReplicaLag() {
+        try (Connection connection = replica.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                result.next();
+                recordReplicaLag(Math.round(result.getDouble(1) * 1000));
+            }
+        } catch (SQLException e) {
+            recordReplicaLag(UNKNOWN_LAG);
+        }
+    }
+
+    private double replicaLagSeconds() {
+        long lag = replicaLagMillis;
+        return lag == UNKNOWN_LAG ? -1 : lag / 1000.0;
+    }
+
+    void recordReplicaLag(long lagMillis) {
+        this.replicaLagMillis = lagMillis;
+    }
+}
@@ -1,7 +1,10 @@
 package com.lite.lite_backend.config;
 
 import com.lite.lite_backend.filter.JwtAuthFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,9 +14,12 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -21,7 +27,9 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -30,22 +38,47 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
 
     /**
-     * Password encoder bean - uses BCrypt hashing
+     * Password encoder bean
+     * - New hashes use the configured algorithm ("bcrypt" or "pbkdf2") and BCrypt cost
+     * - Older hashes (including un-prefixed BCrypt hashes) still match and are
+     *   re-hashed on the next successful login
+     * - Hashing runs on a bounded pool so a login burst can't starve other requests
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${lite.security.password-algorithm:bcrypt}") String algorithm,
+            @Value("${lite.security.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${lite.security.hashing.threads:2}") int hashingThreads,
+            @Value("${lite.security.hashing.queue-capacity:50}") int hashingQueueCapacity) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Existing hashes were stored without an "{id}" prefix and are plain BCrypt
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(delegating, hashingThreads, hashingQueueCapacity, meterRegistry);
     }
 
     /**
      * Authentication provider - tells Spring Security how to retrieve user details and verify passwords
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Store an upgraded hash when the algorithm or cost has changed since the password was set
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -85,7 +118,8 @@ public class SecurityConfig {
      * Main security configuration
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider)
+            throws Exception {
         http
                 // Disable CSRF (we're using JWT, so we don't need CSRF protection)
                 .csrf(csrf -> csrf.disable())
@@ -95,6 +129,10 @@ public class SecurityConfig {
                 
                 // Configure authorization rules
                 .authorizeHttpRequests(auth -> auth
+                        // Async/error re-dispatches (e.g. the end of an SSE stream) were already
+                        // authorized on the original request and carry no JWT of their own
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // Permit all requests to /api/auth/** (login, register)
                         .requestMatchers("/api/auth/**").permitAll()
                         
@@ -111,7 +149,7 @@ public class SecurityConfig {
                 )
                 
                 // Set the authentication provider
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 
                 // Add our JWT filter before the UsernamePasswordAuthenticationFilter
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,23 @@
+package com.lite.lite_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Value("${lite.web.async-timeout-ms:600000}")
+    private long asyncTimeoutMs;
+
+    /**
+     * Streamed downloads (exports) run as async requests; the container default
+     * (30 seconds on Tomcat) would cut large archives short.
+     * SSE streams set their own timeout.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+    }
+}
@@ -0,0 +1,45 @@
+package com.lite.lite_backend.controller;
+
+import com.lite.lite_backend.dto.AnalyticsSummaryDTO;
+import com.lite.lite_backend.dto.JobAnalyticsDTO;
+import com.lite.lite_backend.dto.TaskAnalyticsDTO;
+import com.lite.lite_backend.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    /**
+     * GET /api/analytics/summary?weeks=12 - Job, task and knowledge base statistics in one response
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<AnalyticsSummaryDTO> getSummary(@RequestParam(defaultValue = "12") int weeks) {
+        return ResponseEntity.ok(analyticsService.getSummary(weeks));
+    }
+
+    /**
+     * GET /api/analytics/jobs?weeks=12 - Status distribution, applications per week
+     * and response rate per way of applying
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<JobAnalyticsDTO> getJobAnalytics(@RequestParam(defaultValue = "12") int weeks) {
+        return ResponseEntity.ok(analyticsService.getJobAnalytics(weeks));
+    }
+
+    /**
+     * GET /api/analytics/tasks?weeks=12 - Status distribution, tasks completed per week and overdue count
+     */
+    @GetMapping("/tasks")
+    public ResponseEntity<TaskAnalyticsDTO> getTaskAnalytics(@RequestParam(defaultValue = "12") int weeks) {
+        return ResponseEntity.ok(analyticsService.getTaskAnalytics(weeks));
+    }
+}
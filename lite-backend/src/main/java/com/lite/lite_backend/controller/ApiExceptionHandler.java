@@ -0,0 +1,57 @@
+package com.lite.lite_backend.controller;
+
+import com.lite.lite_backend.exception.DomainException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns the expected errors of every controller into problem-detail responses
+ * (application/problem+json with status, title and detail)
+ * - {@link DomainException}: its own status and message (404 not found, 403 someone else's, 409 conflict, ...)
+ * - {@link AuthenticationException} (failed login): 401, without saying whether the email exists;
+ *   a domain error the authentication provider wrapped (InternalAuthenticationServiceException) keeps its
+ *   own status, so a saturated hashing pool answers 429 whether or not the email exists
+ * - {@link IllegalArgumentException}: 400 (unknown status labels, malformed imports, ...) with a generic
+ *   detail, since the message may come from any library; messages meant for clients use BadRequestException
+ * Anything else is left to Spring's default error handling (500).
+ *
+ * Endpoints hit by id scanning (GET by id) don't throw at all: they answer with {@link #problem(DomainException)},
+ * since a throw out of a handler method is wrapped by reflection in an exception that captures the whole stack.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * The response for a domain error returned by the controller instead of thrown (same body as the advice)
+     */
+    public static ResponseEntity<ProblemDetail> problem(DomainException e) {
+        return ResponseEntity.of(toProblemDetail(e)).build();
+    }
+
+    @ExceptionHandler(DomainException.class)
+    public ProblemDetail handleDomainException(DomainException e) {
+        return toProblemDetail(e);
+    }
+
+    private static ProblemDetail toProblemDetail(DomainException e) {
+        return ProblemDetail.forStatusAndDetail(e.getStatus(), e.getMessage());
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ProblemDetail handleAuthenticationFailure(AuthenticationException e) {
+        // DaoAuthenticationProvider wraps what fails while it loads the user (InternalAuthenticationServiceException)
+        if (e.getCause() instanceof DomainException domainException) {
+            return toProblemDetail(domainException);
+        }
+        return ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Invalid request");
+    }
+}
@@ -17,30 +17,20 @@ public class AuthController {
 
     /**
      * POST /api/auth/register
-     * Register a new user
+     * Register a new user (400 missing fields, 409 email taken, 429 hashing pool saturated)
      */
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
-        try {
-            AuthResponse response = authService.register(request);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
+        return ResponseEntity.ok(authService.register(request));
     }
 
     /**
      * POST /api/auth/login
-     * Login an existing user
+     * Login an existing user (401 wrong credentials, 429 hashing pool saturated)
      */
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
-        try {
-            AuthResponse response = authService.login(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.status(401).build();
-        }
+        return ResponseEntity.ok(authService.login(request));
     }
 
     /**
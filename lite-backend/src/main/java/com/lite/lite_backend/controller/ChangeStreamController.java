@@ -0,0 +1,33 @@
+package com.lite.lite_backend.controller;
+
+import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.service.ChangeStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class ChangeStreamController {
+
+    private final ChangeStreamService changeStreamService;
+
+    /**
+     * GET /api/events - Server-Sent Events stream of the user's changes
+     * (task moved, note saved, folder created, document uploaded, ...).
+     * Each event carries its type and the entity id; a "resync" event means
+     * the client fell behind and should refetch.
+     * Needs the Authorization header, so read it with fetch() rather than EventSource.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal UserDetails userDetails) {
+        User user = (User) userDetails;
+        return changeStreamService.connect(user.getId());
+    }
+}
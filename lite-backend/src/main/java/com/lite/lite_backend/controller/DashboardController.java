@@ -0,0 +1,26 @@
+package com.lite.lite_backend.controller;
+
+import com.lite.lite_backend.dto.DashboardCountersDTO;
+import com.lite.lite_backend.service.DashboardCounterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardCounterService dashboardCounterService;
+
+    /**
+     * GET /api/dashboard/counters - Tasks and jobs per status, notes, documents and folders
+     * (read from the counters table, no listing)
+     */
+    @GetMapping("/counters")
+    public ResponseEntity<DashboardCountersDTO> getCounters() {
+        return ResponseEntity.ok(dashboardCounterService.getCounters());
+    }
+}
@@ -1,12 +1,24 @@
 package com.lite.lite_backend.controller;
 
+import com.lite.lite_backend.dto.BatchOperationDTO;
+import com.lite.lite_backend.dto.BatchResultDTO;
+import com.lite.lite_backend.dto.ImportResultDTO;
 import com.lite.lite_backend.dto.JobApplicationDTO;
 import com.lite.lite_backend.service.JobApplicationService;
+import com.lite.lite_backend.service.JobApplicationTransferService;
+import com.lite.lite_backend.util.DataVersionRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -17,36 +29,37 @@ import java.util.List;
 public class JobApplicationController {
 
     private final JobApplicationService jobApplicationService;
+    private final JobApplicationTransferService transferService;
 
     /**
      * GET /api/jobs - Get all job applications for the logged-in user
      */
     @GetMapping
-    public ResponseEntity<List<JobApplicationDTO>> getAllJobApplications() {
-        try {
-            List<JobApplicationDTO> jobs = jobApplicationService.getAllJobApplications();
-            return ResponseEntity.ok(jobs);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    public ResponseEntity<List<JobApplicationDTO>> getAllJobApplications(WebRequest request) {
+        // Answer 304 when the client already has the current list
+        long version = jobApplicationService.getJobApplicationsVersion();
+        String eTag = DataVersionRegistry.etag(DataVersionRegistry.Scope.JOBS, version);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
         }
+
+        // The same version validates the cached list: a hit costs no further database access
+        List<JobApplicationDTO> jobs = jobApplicationService.getAllJobApplications(version);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(jobs);
     }
 
     /**
      * GET /api/jobs/{id} - Get a single job application by ID
+     * (404 / 403 are returned, not thrown: this is the path id scanning hits)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<JobApplicationDTO> getJobApplicationById(@PathVariable Long id) {
-        try {
-            JobApplicationDTO job = jobApplicationService.getJobApplicationById(id);
-            return ResponseEntity.ok(job);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("Unauthorized")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<?> getJobApplicationById(@PathVariable Long id) {
+        return jobApplicationService.findJobApplicationById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ApiExceptionHandler.problem(jobApplicationService.jobApplicationDenied(id)));
     }
 
     /**
@@ -54,12 +67,8 @@ public class JobApplicationController {
      */
     @PostMapping
     public ResponseEntity<JobApplicationDTO> createJobApplication(@RequestBody JobApplicationDTO dto) {
-        try {
-            JobApplicationDTO created = jobApplicationService.createJobApplication(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(created);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        JobApplicationDTO created = jobApplicationService.createJobApplication(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     /**
@@ -69,17 +78,8 @@ public class JobApplicationController {
     public ResponseEntity<JobApplicationDTO> updateJobApplication(
             @PathVariable Long id,
             @RequestBody JobApplicationDTO dto) {
-        try {
-            JobApplicationDTO updated = jobApplicationService.updateJobApplication(id, dto);
-            return ResponseEntity.ok(updated);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("Unauthorized")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        JobApplicationDTO updated = jobApplicationService.updateJobApplication(id, dto);
+        return ResponseEntity.ok(updated);
     }
 
     /**
@@ -87,17 +87,8 @@ public class JobApplicationController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteJobApplication(@PathVariable Long id) {
-        try {
-            jobApplicationService.deleteJobApplication(id);
-            return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("Unauthorized")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        jobApplicationService.deleteJobApplication(id);
+        return ResponseEntity.noContent().build();
     }
 
     /**
@@ -106,24 +97,57 @@ public class JobApplicationController {
     @PostMapping("/{id}/upload-cv")
     public ResponseEntity<JobApplicationDTO> uploadCV(
             @PathVariable Long id,
-            @RequestParam("file") MultipartFile file) {
-        try {
-            if (file.isEmpty()) {
-                return ResponseEntity.badRequest().build();
-            }
-
-            JobApplicationDTO updated = jobApplicationService.uploadCV(id, file);
-            return ResponseEntity.ok(updated);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("Unauthorized")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            @RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
         }
+
+        JobApplicationDTO updated = jobApplicationService.uploadCV(id, file);
+        return ResponseEntity.ok(updated);
+    }
+
+    /**
+     * POST /api/jobs/batch - Apply many create / update / delete operations
+     * in one round trip and one transaction; returns one result per operation
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResultDTO>> applyBatch(
+            @RequestBody List<BatchOperationDTO<JobApplicationDTO>> operations) {
+        List<BatchResultDTO> results = jobApplicationService.applyBatch(operations);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * GET /api/jobs/export?format=csv|json - Download all job applications,
+     * streamed row by row from the database
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportJobApplications(
+            @RequestParam(defaultValue = "csv") String format) {
+        JobApplicationTransferService.Format exportFormat = JobApplicationTransferService.Format.fromName(format);
+        StreamingResponseBody body = transferService.exportJobApplications(exportFormat);
+        String fileName = "job-applications." + exportFormat.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(exportFormat == JobApplicationTransferService.Format.CSV
+                        ? new MediaType("text", "csv")
+                        : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    /**
+     * POST /api/jobs/import - Create job applications from a CSV (text/csv, with header row)
+     * or JSON array (application/json) request body; the body is parsed while it is read
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<ImportResultDTO> importJobApplications(HttpServletRequest request) throws IOException {
+        JobApplicationTransferService.Format format =
+                MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.APPLICATION_JSON)
+                        ? JobApplicationTransferService.Format.JSON
+                        : JobApplicationTransferService.Format.CSV;
+        ImportResultDTO result = transferService.importJobApplications(format, request.getInputStream());
+        return ResponseEntity.ok(result);
     }
 
     /**
@@ -131,11 +155,7 @@ public class JobApplicationController {
      */
     @GetMapping("/search")
     public ResponseEntity<List<JobApplicationDTO>> searchJobApplications(@RequestParam String q) {
-        try {
-            List<JobApplicationDTO> results = jobApplicationService.searchJobApplications(q);
-            return ResponseEntity.ok(results);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        List<JobApplicationDTO> results = jobApplicationService.searchJobApplications(q);
+        return ResponseEntity.ok(results);
     }
 }
@@ -2,19 +2,40 @@ package com.lite.lite_backend.controller;
 
 import com.lite.lite_backend.dto.*;
 import com.lite.lite_backend.entity.*;
+import com.lite.lite_backend.event.ChangeEvent;
+import com.lite.lite_backend.event.StoredFilesReleasedEvent;
 import com.lite.lite_backend.repository.*;
 import com.lite.lite_backend.service.CloudinaryService;
+import com.lite.lite_backend.service.DashboardCounterService;
+import com.lite.lite_backend.service.FolderDeletionService;
+import com.lite.lite_backend.service.FolderHierarchyService;
+import com.lite.lite_backend.service.KnowledgeBaseBatchService;
+import com.lite.lite_backend.service.KnowledgeBaseSearchService;
+import com.lite.lite_backend.service.KnowledgeBaseTreeCache;
+import com.lite.lite_backend.service.NoteContentService;
+import com.lite.lite_backend.service.OwnershipService;
+import com.lite.lite_backend.service.SyncService;
+import com.lite.lite_backend.util.DataVersionRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,163 +44,135 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:5173")
 public class KnowledgeBaseController {
 
+    private static final int MAX_EXPAND_IDS = 100;
+
     private final FolderRepository folderRepository;
     private final NoteRepository noteRepository;
     private final DocumentRepository documentRepository;
     private final NoteVersionRepository noteVersionRepository;
+    private final NoteContentService noteContents;
+    private final OwnershipService ownership;
     private final CloudinaryService cloudinaryService;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final KnowledgeBaseTreeCache treeCache;
+    private final FolderHierarchyService folderHierarchy;
+    private final FolderDeletionService folderDeletion;
+    private final SyncService syncService;
+    private final KnowledgeBaseBatchService batchService;
+    private final KnowledgeBaseSearchService searchService;
+    private final DashboardCounterService dashboardCounters;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Mark the user's tree as changed so the next /tree request is answered in full
+    private void markTreeChanged(User user) {
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.KNOWLEDGE_BASE, user.getId());
+    }
 
     // GET /api/kb/tree - Get the entire file/folder tree
     @GetMapping("/tree")
-    public ResponseEntity<FolderTreeDTO> getTree(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<FolderTreeDTO> getTree(
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request) {
         User user = (User) userDetails;
 
-        // Create a virtual root to hold everything
-        FolderTreeDTO root = new FolderTreeDTO();
-        root.setId(null);
-        root.setName("Root");
+        // Answer 304 when the client already has the current tree
+        long version = dataVersionRegistry.version(DataVersionRegistry.Scope.KNOWLEDGE_BASE, user.getId());
+        String eTag = DataVersionRegistry.etag(DataVersionRegistry.Scope.KNOWLEDGE_BASE, version);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
 
-        // Get all root folders
-        List<Folder> rootFolders = folderRepository.findByUserAndParentFolderIsNull(user);
-        List<FolderTreeDTO> folderDTOs = rootFolders.stream()
-                .map(this::buildFolderTree)
-                .collect(Collectors.toList());
-        root.setSubFolders(folderDTOs);
-
-        // Get root-level notes (notes without a folder)
-        List<Note> rootNotes = noteRepository.findByUserAndFolder(user, null);
-        List<NoteTreeDTO> noteDTOs = rootNotes.stream()
-                .map(note -> {
-                    NoteTreeDTO noteDto = new NoteTreeDTO();
-                    noteDto.setId(note.getId());
-                    noteDto.setTitle(note.getTitle());
-                    return noteDto;
-                })
-                .collect(Collectors.toList());
-        root.setNotes(noteDTOs);
-
-        // Get root-level documents (documents without a folder)
-        List<Document> rootDocuments = documentRepository.findByUserAndFolder(user, null);
-        List<DocumentTreeDTO> docDTOs = rootDocuments.stream()
-                .map(doc -> {
-                    DocumentTreeDTO docDto = new DocumentTreeDTO();
-                    docDto.setId(doc.getId());
-                    docDto.setFileName(doc.getFileName());
-                    docDto.setDocumentUrl(doc.getDocumentUrl());
-                    return docDto;
-                })
-                .collect(Collectors.toList());
-        root.setDocuments(docDTOs);
+        // Served from the in-memory tree, kept up to date by the write endpoints below;
+        // the version just read validates it, so a current tree costs no further database access
+        FolderTreeDTO root = treeCache.getTree(user, version);
 
-        return ResponseEntity.ok(root);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(root);
     }
 
-    // Recursive method to build folder tree
-    private FolderTreeDTO buildFolderTree(Folder folder) {
-        FolderTreeDTO dto = new FolderTreeDTO();
-        dto.setId(folder.getId());
-        dto.setName(folder.getName());
-
-        // Add subfolders
-        List<FolderTreeDTO> subFolders = folder.getSubFolders().stream()
-                .map(this::buildFolderTree)
-                .collect(Collectors.toList());
-        dto.setSubFolders(subFolders);
-
-        // Add notes
-        List<NoteTreeDTO> notes = folder.getNotes().stream()
-                .map(note -> {
-                    NoteTreeDTO noteDto = new NoteTreeDTO();
-                    noteDto.setId(note.getId());
-                    noteDto.setTitle(note.getTitle());
-                    return noteDto;
-                })
-                .collect(Collectors.toList());
-        dto.setNotes(notes);
-
-        // Add documents
-        List<DocumentTreeDTO> documents = folder.getDocuments().stream()
-                .map(doc -> {
-                    DocumentTreeDTO docDto = new DocumentTreeDTO();
-                    docDto.setId(doc.getId());
-                    docDto.setFileName(doc.getFileName());
-                    docDto.setDocumentUrl(doc.getDocumentUrl());
-                    return docDto;
-                })
-                .collect(Collectors.toList());
-        dto.setDocuments(documents);
-
-        return dto;
-    }
-
-    // GET /api/notes/{id} - Get a single note
+    // GET /api/notes/{id} - Get a single note (404 / 403 are returned, not thrown: this is the path id scanning hits)
     @GetMapping("/notes/{id}")
-    public ResponseEntity<NoteDTO> getNote(
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getNote(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request) {
         User user = (User) userDetails;
-        Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Note not found"));
+        Note note = ownership.findOwned(noteRepository, id, user.getId()).orElse(null);
+        if (note == null) {
+            return ApiExceptionHandler.problem(ownership.denied(noteRepository, id, "Note"));
+        }
 
-        if (!note.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        // Answer 304 when the note hasn't changed since the client's copy
+        long lastModified = note.getUpdatedAt() != null
+                ? note.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        if (lastModified > 0 && request.checkNotModified(lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).lastModified(lastModified).build();
         }
 
         NoteDTO dto = new NoteDTO();
         dto.setId(note.getId());
         dto.setTitle(note.getTitle());
-        dto.setContent(note.getContent());
+        dto.setContent(noteContents.getContent(note.getId()));
         dto.setFolderId(note.getFolder() != null ? note.getFolder().getId() : null);
 
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok()
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(dto);
     }
 
     // PUT /api/notes/{id} - Update note content
     @PutMapping("/notes/{id}")
+    @Transactional
     public ResponseEntity<NoteDTO> updateNote(
             @PathVariable Long id,
             @RequestBody NoteDTO noteDTO,
             @AuthenticationPrincipal UserDetails userDetails) {
         User user = (User) userDetails;
-        Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Note not found"));
-
-        if (!note.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
+        Note note = ownership.requireOwned(noteRepository, id, user.getId(), "Note");
 
         // Save current version before updating
-        if (note.getContent() != null && !note.getContent().equals(noteDTO.getContent())) {
+        String previousContent = noteContents.getContent(note.getId());
+        if (previousContent != null && !previousContent.equals(noteDTO.getContent())) {
             NoteVersion version = new NoteVersion();
             version.setNote(note);
             version.setTitle(note.getTitle());
-            version.setContent(note.getContent());
+            version.setContent(previousContent);
             version.setVersionNumber(noteVersionRepository.countByNote(note) + 1);
             noteVersionRepository.save(version);
         }
 
+        Long previousFolderId = note.getFolder() != null ? note.getFolder().getId() : null;
+        boolean titleChanged = !note.getTitle().equals(noteDTO.getTitle());
+
         note.setTitle(noteDTO.getTitle());
-        note.setContent(noteDTO.getContent());
 
         // Update folder association (allow moving between folders)
         if (noteDTO.getFolderId() != null) {
-            Folder folder = folderRepository.findById(noteDTO.getFolderId())
-                    .orElseThrow(() -> new RuntimeException("Folder not found"));
-            if (!folder.getUser().getId().equals(user.getId())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            note.setFolder(folder);
+            note.setFolder(ownership.requireReference(folderRepository, noteDTO.getFolderId(), user.getId(), "Folder"));
         } else {
             // Allow moving to root (no folder)
             note.setFolder(null);
         }
 
+        noteContents.setContent(note, noteDTO.getContent());
         Note savedNote = noteRepository.save(note);
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), "note.saved", savedNote.getId()));
+
+        // Content-only edits don't change the tree
+        if (titleChanged || !Objects.equals(previousFolderId, noteDTO.getFolderId())) {
+            treeCache.noteSaved(user, savedNote.getId(), savedNote.getTitle(), noteDTO.getFolderId());
+            markTreeChanged(user);
+        }
 
         NoteDTO responseDto = new NoteDTO();
         responseDto.setId(savedNote.getId());
         responseDto.setTitle(savedNote.getTitle());
-        responseDto.setContent(savedNote.getContent());
+        responseDto.setContent(noteDTO.getContent());
         responseDto.setFolderId(savedNote.getFolder() != null ? savedNote.getFolder().getId() : null);
 
         return ResponseEntity.ok(responseDto);
@@ -190,37 +183,35 @@ public class KnowledgeBaseController {
     public ResponseEntity<DocumentTreeDTO> uploadDocument(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "folderId", required = false) Long folderId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        try {
-            User user = (User) userDetails;
-
-            String documentUrl = cloudinaryService.uploadFile(file);
-
-            Document document = new Document();
-            document.setFileName(file.getOriginalFilename());
-            document.setDocumentUrl(documentUrl);
-            document.setUser(user);
-
-            if (folderId != null) {
-                Folder folder = folderRepository.findById(folderId)
-                        .orElseThrow(() -> new RuntimeException("Folder not found"));
-                if (!folder.getUser().getId().equals(user.getId())) {
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-                }
-                document.setFolder(folder);
-            }
-
-            Document savedDocument = documentRepository.save(document);
-
-            DocumentTreeDTO dto = new DocumentTreeDTO();
-            dto.setId(savedDocument.getId());
-            dto.setFileName(savedDocument.getFileName());
-            dto.setDocumentUrl(savedDocument.getDocumentUrl());
-
-            return new ResponseEntity<>(dto, HttpStatus.CREATED);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        User user = (User) userDetails;
+
+        // Check the target folder before anything is uploaded
+        Folder folder = folderId != null
+                ? ownership.requireReference(folderRepository, folderId, user.getId(), "Folder")
+                : null;
+
+        String documentUrl = cloudinaryService.uploadFile(file);
+
+        Document document = new Document();
+        document.setFileName(file.getOriginalFilename());
+        document.setDocumentUrl(documentUrl);
+        document.setUser(user);
+        document.setFolder(folder);
+
+        Document savedDocument = documentRepository.save(document);
+        dashboardCounters.add(user, DashboardCounterService.DOCUMENTS, 1);
+        treeCache.documentSaved(user, savedDocument.getId(), savedDocument.getFileName(),
+                savedDocument.getDocumentUrl(), folderId);
+        markTreeChanged(user);
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), "document.uploaded", savedDocument.getId()));
+
+        DocumentTreeDTO dto = new DocumentTreeDTO();
+        dto.setId(savedDocument.getId());
+        dto.setFileName(savedDocument.getFileName());
+        dto.setDocumentUrl(savedDocument.getDocumentUrl());
+
+        return new ResponseEntity<>(dto, HttpStatus.CREATED);
     }
 
     // GET /api/kb/folders/{id} - Get folder contents
@@ -229,19 +220,81 @@ public class KnowledgeBaseController {
             @PathVariable Long id,
             @AuthenticationPrincipal UserDetails userDetails) {
         User user = (User) userDetails;
-        Folder folder = folderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Folder not found"));
+        FolderTreeDTO dto = treeCache.getFolder(user, id);
 
-        if (!folder.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        if (dto == null) {
+            // Not in the user's tree: either missing or someone else's
+            throw ownership.denied(folderRepository, id, "Folder");
         }
-
-        FolderTreeDTO dto = buildFolderTree(folder);
         return ResponseEntity.ok(dto);
     }
 
+    // GET /api/kb/folders/{id}/path - Breadcrumb of a folder, root first
+    @GetMapping("/folders/{id}/path")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<FolderDTO>> getFolderPath(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = (User) userDetails;
+        ownership.checkOwned(folderRepository, id, user.getId(), "Folder");
+
+        List<FolderDTO> path = folderHierarchy.getPath(id).stream()
+                .map(header -> {
+                    FolderDTO dto = new FolderDTO();
+                    dto.setId(header.getId());
+                    dto.setName(header.getName());
+                    dto.setParentFolderId(header.getParentFolderId());
+                    return dto;
+                })
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(path);
+    }
+
+    // GET /api/kb/nodes?folderId=&depth=1&offset=0&limit=200 - Lazily expand a folder (root when no folderId)
+    @GetMapping("/nodes")
+    public ResponseEntity<TreeNodeDTO> expandFolder(
+            @RequestParam(required = false) Long folderId,
+            @RequestParam(defaultValue = "1") int depth,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "200") int limit,
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request) {
+        User user = (User) userDetails;
+
+        long version = dataVersionRegistry.version(DataVersionRegistry.Scope.KNOWLEDGE_BASE, user.getId());
+        String eTag = DataVersionRegistry.etag(DataVersionRegistry.Scope.KNOWLEDGE_BASE, version);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        TreeNodeDTO node = treeCache.expand(user, version, folderId, depth, offset, limit);
+        if (node == null) {
+            // Not in the user's tree: either missing or someone else's
+            throw ownership.denied(folderRepository, folderId, "Folder");
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(node);
+    }
+
+    // GET /api/kb/nodes/batch?ids=1,2,3&depth=1&limit=200 - Expand several folders at once (unknown ids are left out)
+    @GetMapping("/nodes/batch")
+    public ResponseEntity<List<TreeNodeDTO>> expandFolders(
+            @RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "1") int depth,
+            @RequestParam(defaultValue = "200") int limit,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = (User) userDetails;
+        if (ids.size() > MAX_EXPAND_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(treeCache.expandAll(user, ids, depth, limit));
+    }
+
     // POST /api/kb/folders - Create a folder
     @PostMapping("/folders")
+    @Transactional
     public ResponseEntity<FolderDTO> createFolder(
             @RequestBody FolderDTO folderDTO,
             @AuthenticationPrincipal UserDetails userDetails) {
@@ -252,15 +305,16 @@ public class KnowledgeBaseController {
         folder.setUser(user);
 
         if (folderDTO.getParentFolderId() != null) {
-            Folder parentFolder = folderRepository.findById(folderDTO.getParentFolderId())
-                    .orElseThrow(() -> new RuntimeException("Parent folder not found"));
-            if (!parentFolder.getUser().getId().equals(user.getId())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            folder.setParentFolder(parentFolder);
+            folder.setParentFolder(ownership.requireReference(folderRepository, folderDTO.getParentFolderId(),
+                    user.getId(), "Parent folder"));
         }
 
         Folder savedFolder = folderRepository.save(folder);
+        folderHierarchy.folderCreated(savedFolder.getId(), folderDTO.getParentFolderId());
+        dashboardCounters.add(user, DashboardCounterService.FOLDERS, 1);
+        treeCache.folderSaved(user, savedFolder.getId(), savedFolder.getName(), folderDTO.getParentFolderId());
+        markTreeChanged(user);
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), "folder.created", savedFolder.getId()));
 
         FolderDTO responseDto = new FolderDTO();
         responseDto.setId(savedFolder.getId());
@@ -273,23 +327,25 @@ public class KnowledgeBaseController {
 
     // DELETE /api/kb/folders/{id} - Delete a folder
     @DeleteMapping("/folders/{id}")
+    @Transactional
     public ResponseEntity<Void> deleteFolder(
             @PathVariable Long id,
             @AuthenticationPrincipal UserDetails userDetails) {
         User user = (User) userDetails;
-        Folder folder = folderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Folder not found"));
-
-        if (!folder.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-
-        folderRepository.delete(folder);
+        Folder folder = ownership.requireReference(folderRepository, id, user.getId(), "Folder");
+
+        syncService.recordFolderDelete(user, folder);
+        dashboardCounters.folderDeleted(user, folder);
+        folderDeletion.deleteSubtree(id);
+        treeCache.folderDeleted(user, id);
+        markTreeChanged(user);
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), "folder.deleted", id));
         return ResponseEntity.noContent().build();
     }
 
     // POST /api/kb/notes - Create a note
     @PostMapping("/notes")
+    @Transactional
     public ResponseEntity<NoteDTO> createNote(
             @RequestBody NoteDTO noteDTO,
             @AuthenticationPrincipal UserDetails userDetails) {
@@ -297,24 +353,23 @@ public class KnowledgeBaseController {
 
         Note note = new Note();
         note.setTitle(noteDTO.getTitle());
-        note.setContent(noteDTO.getContent());
         note.setUser(user);
 
         if (noteDTO.getFolderId() != null) {
-            Folder folder = folderRepository.findById(noteDTO.getFolderId())
-                    .orElseThrow(() -> new RuntimeException("Folder not found"));
-            if (!folder.getUser().getId().equals(user.getId())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            note.setFolder(folder);
+            note.setFolder(ownership.requireReference(folderRepository, noteDTO.getFolderId(), user.getId(), "Folder"));
         }
 
         Note savedNote = noteRepository.save(note);
+        noteContents.createContent(savedNote.getId(), noteDTO.getContent());
+        dashboardCounters.add(user, DashboardCounterService.NOTES, 1);
+        treeCache.noteSaved(user, savedNote.getId(), savedNote.getTitle(), noteDTO.getFolderId());
+        markTreeChanged(user);
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), "note.created", savedNote.getId()));
 
         NoteDTO responseDto = new NoteDTO();
         responseDto.setId(savedNote.getId());
         responseDto.setTitle(savedNote.getTitle());
-        responseDto.setContent(savedNote.getContent());
+        responseDto.setContent(noteDTO.getContent());
         responseDto.setFolderId(savedNote.getFolder() != null ? savedNote.getFolder().getId() : null);
 
         return new ResponseEntity<>(responseDto, HttpStatus.CREATED);
@@ -322,50 +377,46 @@ public class KnowledgeBaseController {
 
     // DELETE /api/kb/notes/{id} - Delete a note
     @DeleteMapping("/notes/{id}")
+    @Transactional
     public ResponseEntity<Void> deleteNote(
             @PathVariable Long id,
             @AuthenticationPrincipal UserDetails userDetails) {
         User user = (User) userDetails;
-        Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Note not found"));
-
-        if (!note.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-
-        noteRepository.delete(note);
+        // Owner-filtered deletes: nothing matches when the note is missing or someone else's
+        noteVersionRepository.deleteForOwnedNote(id, user.getId());
+        ownership.checkAffected(noteRepository.deleteOwned(id, user.getId()), noteRepository, id, "Note");
+        syncService.recordDelete(user, Tombstone.NOTE, id);
+        dashboardCounters.add(user, DashboardCounterService.NOTES, -1);
+        treeCache.noteDeleted(user, id);
+        markTreeChanged(user);
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), "note.deleted", id));
         return ResponseEntity.noContent().build();
     }
 
     // PUT /api/kb/documents/{id} - Update document folder (move document)
     @PutMapping("/documents/{id}")
+    @Transactional
     public ResponseEntity<DocumentTreeDTO> updateDocument(
             @PathVariable Long id,
             @RequestBody Map<String, Long> body,
             @AuthenticationPrincipal UserDetails userDetails) {
         User user = (User) userDetails;
-        Document document = documentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Document not found"));
-
-        if (!document.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
+        Document document = ownership.requireOwned(documentRepository, id, user.getId(), "Document");
 
         // Update folder association (allow moving between folders)
         Long folderId = body.get("folderId");
         if (folderId != null) {
-            Folder folder = folderRepository.findById(folderId)
-                    .orElseThrow(() -> new RuntimeException("Folder not found"));
-            if (!folder.getUser().getId().equals(user.getId())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            document.setFolder(folder);
+            document.setFolder(ownership.requireReference(folderRepository, folderId, user.getId(), "Folder"));
         } else {
             // Allow moving to root (no folder)
             document.setFolder(null);
         }
 
         Document savedDocument = documentRepository.save(document);
+        treeCache.documentSaved(user, savedDocument.getId(), savedDocument.getFileName(),
+                savedDocument.getDocumentUrl(), folderId);
+        markTreeChanged(user);
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), "document.moved", id));
 
         DocumentTreeDTO responseDto = new DocumentTreeDTO();
         responseDto.setId(savedDocument.getId());
@@ -377,76 +428,70 @@ public class KnowledgeBaseController {
 
     // DELETE /api/kb/documents/{id} - Delete a document
     @DeleteMapping("/documents/{id}")
+    @Transactional
     public ResponseEntity<Void> deleteDocument(
             @PathVariable Long id,
             @AuthenticationPrincipal UserDetails userDetails) {
         User user = (User) userDetails;
-        Document document = documentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Document not found"));
-
-        if (!document.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
+        Document document = ownership.requireOwned(documentRepository, id, user.getId(), "Document");
 
         documentRepository.delete(document);
+        if (document.getDocumentUrl() != null) {
+            eventPublisher.publishEvent(new StoredFilesReleasedEvent(List.of(document.getDocumentUrl())));
+        }
+        syncService.recordDelete(user, Tombstone.DOCUMENT, id);
+        dashboardCounters.add(user, DashboardCounterService.DOCUMENTS, -1);
+        treeCache.documentDeleted(user, id);
+        markTreeChanged(user);
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), "document.deleted", id));
         return ResponseEntity.noContent().build();
     }
 
-    // GET /api/kb/search?q={query} - Search notes and documents
+    // POST /api/kb/batch - Create / update / move / delete many folders, notes and documents at once
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResultDTO>> applyBatch(
+            @RequestBody List<BatchOperationDTO<KnowledgeBaseItemDTO>> operations,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = (User) userDetails;
+        List<BatchResultDTO> results = batchService.applyBatch(user, operations);
+        return ResponseEntity.ok(results);
+    }
+
+    // GET /api/kb/search?q=&folderId=&type=note|document&field=title|all&updatedFrom=&updatedTo=&limit=100
+    // Search notes and documents, optionally inside a folder (and its subfolders) only
     @GetMapping("/search")
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> searchKnowledgeBase(
             @RequestParam String q,
+            @RequestParam(required = false) Long folderId,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "all") String field,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate updatedTo,
+            @RequestParam(defaultValue = "" + KnowledgeBaseSearchService.DEFAULT_LIMIT) int limit,
             @AuthenticationPrincipal UserDetails userDetails) {
         User user = (User) userDetails;
 
-        String lowerQuery = q.toLowerCase();
-
-        // Search notes
-        List<Note> allNotes = noteRepository.findByUser(user);
-        List<Map<String, Object>> matchingNotes = allNotes.stream()
-                .filter(note -> (note.getTitle() != null && note.getTitle().toLowerCase().contains(lowerQuery)) ||
-                        (note.getContent() != null && note.getContent().toLowerCase().contains(lowerQuery)))
-                .map(note -> {
-                    Map<String, Object> map = new HashMap<>();
-                    map.put("id", note.getId());
-                    map.put("title", note.getTitle());
-                    map.put("type", "note");
-                    return map;
-                })
-                .collect(Collectors.toList());
-
-        // Search documents
-        List<Document> allDocuments = documentRepository.findByUser(user);
-        List<Map<String, Object>> matchingDocuments = allDocuments.stream()
-                .filter(doc -> doc.getFileName() != null && doc.getFileName().toLowerCase().contains(lowerQuery))
-                .map(doc -> {
-                    Map<String, Object> map = new HashMap<>();
-                    map.put("id", doc.getId());
-                    map.put("fileName", doc.getFileName());
-                    map.put("type", "document");
-                    return map;
-                })
-                .collect(Collectors.toList());
-
-        Map<String, Object> results = new HashMap<>();
-        results.put("notes", matchingNotes);
-        results.put("documents", matchingDocuments);
+        if ((type != null && !type.equals("note") && !type.equals("document"))
+                || (!field.equals("title") && !field.equals("all"))) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (folderId != null) {
+            ownership.checkOwned(folderRepository, folderId, user.getId(), "Folder");
+        }
 
-        return ResponseEntity.ok(results);
+        return ResponseEntity.ok(searchService.search(user, q, folderId, type, field.equals("title"),
+                updatedFrom, updatedTo, limit));
     }
 
     // GET /api/kb/notes/{id}/versions - Get version history
     @GetMapping("/notes/{id}/versions")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<Map<String, Object>>> getNoteVersions(
             @PathVariable Long id,
             @AuthenticationPrincipal UserDetails userDetails) {
         User user = (User) userDetails;
-        Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Note not found"));
-
-        if (!note.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
+        Note note = ownership.requireReference(noteRepository, id, user.getId(), "Note");
 
         List<NoteVersion> versions = noteVersionRepository.findByNoteOrderByVersionNumberDesc(note);
         List<Map<String, Object>> versionList = versions.stream()
@@ -466,42 +511,41 @@ public class KnowledgeBaseController {
 
     // POST /api/kb/notes/{id}/restore/{versionId} - Restore a version
     @PostMapping("/notes/{id}/restore/{versionId}")
+    @Transactional
     public ResponseEntity<NoteDTO> restoreNoteVersion(
             @PathVariable Long id,
             @PathVariable Long versionId,
             @AuthenticationPrincipal UserDetails userDetails) {
         User user = (User) userDetails;
-        Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Note not found"));
+        Note note = ownership.requireOwned(noteRepository, id, user.getId(), "Note");
 
-        if (!note.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-
-        NoteVersion version = noteVersionRepository.findById(versionId)
-                .orElseThrow(() -> new RuntimeException("Version not found"));
-
-        if (!version.getNote().getId().equals(note.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
+        NoteVersion version = noteVersionRepository.findByIdAndNoteId(versionId, id)
+                .orElseThrow(() -> ownership.denied(noteVersionRepository, versionId, "Version"));
 
         // Save current as version before restoring
         NoteVersion currentVersion = new NoteVersion();
         currentVersion.setNote(note);
         currentVersion.setTitle(note.getTitle());
-        currentVersion.setContent(note.getContent());
+        currentVersion.setContent(noteContents.getContent(note.getId()));
         currentVersion.setVersionNumber(noteVersionRepository.countByNote(note) + 1);
         noteVersionRepository.save(currentVersion);
 
         // Restore from version
+        boolean titleChanged = !note.getTitle().equals(version.getTitle());
         note.setTitle(version.getTitle());
-        note.setContent(version.getContent());
+        noteContents.setContent(note, version.getContent());
         Note savedNote = noteRepository.save(note);
+        if (titleChanged) {
+            treeCache.noteSaved(user, savedNote.getId(), savedNote.getTitle(),
+                    savedNote.getFolder() != null ? savedNote.getFolder().getId() : null);
+            markTreeChanged(user);
+        }
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), "note.saved", savedNote.getId()));
 
         NoteDTO responseDto = new NoteDTO();
         responseDto.setId(savedNote.getId());
         responseDto.setTitle(savedNote.getTitle());
-        responseDto.setContent(savedNote.getContent());
+        responseDto.setContent(version.getContent());
         responseDto.setFolderId(savedNote.getFolder() != null ? savedNote.getFolder().getId() : null);
 
         return ResponseEntity.ok(responseDto);
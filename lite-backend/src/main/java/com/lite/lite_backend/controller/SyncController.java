@@ -0,0 +1,26 @@
+package com.lite.lite_backend.controller;
+
+import com.lite.lite_backend.dto.SyncResponseDTO;
+import com.lite.lite_backend.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * GET /api/sync?since={cursor} - Get notes, folders, documents, tasks and job
+     * applications created, updated or deleted since the cursor.
+     * Without a cursor everything is returned. The response holds the next cursor.
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponseDTO> sync(@RequestParam(required = false) Long since) {
+        SyncResponseDTO changes = syncService.getChanges(since);
+        return ResponseEntity.ok(changes);
+    }
+}
@@ -1,11 +1,17 @@
 package com.lite.lite_backend.controller;
 
+import com.lite.lite_backend.dto.BatchOperationDTO;
+import com.lite.lite_backend.dto.BatchResultDTO;
 import com.lite.lite_backend.dto.TaskDTO;
+import com.lite.lite_backend.entity.TaskStatus;
 import com.lite.lite_backend.service.TaskService;
+import com.lite.lite_backend.util.DataVersionRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -21,13 +27,20 @@ public class TaskController {
      * GET /api/tasks - Get all tasks for the logged-in user
      */
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks() {
-        try {
-            List<TaskDTO> tasks = taskService.getAllTasks();
-            return ResponseEntity.ok(tasks);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    public ResponseEntity<List<TaskDTO>> getAllTasks(WebRequest request) {
+        // Answer 304 when the client already has the current list
+        long version = taskService.getTasksVersion();
+        String eTag = DataVersionRegistry.etag(DataVersionRegistry.Scope.TASKS, version);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
         }
+
+        // The same version validates the cached list: a hit costs no further database access
+        List<TaskDTO> tasks = taskService.getAllTasks(version);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(tasks);
     }
 
     /**
@@ -35,30 +48,19 @@ public class TaskController {
      */
     @GetMapping("/status/{status}")
     public ResponseEntity<List<TaskDTO>> getTasksByStatus(@PathVariable String status) {
-        try {
-            List<TaskDTO> tasks = taskService.getTasksByStatus(status);
-            return ResponseEntity.ok(tasks);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        List<TaskDTO> tasks = taskService.getTasksByStatus(TaskStatus.fromLabel(status));
+        return ResponseEntity.ok(tasks);
     }
 
     /**
      * GET /api/tasks/{id} - Get a single task by ID
+     * (404 / 403 are returned, not thrown: this is the path id scanning hits)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id) {
-        try {
-            TaskDTO task = taskService.getTaskById(id);
-            return ResponseEntity.ok(task);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("Unauthorized")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<?> getTaskById(@PathVariable Long id) {
+        return taskService.findTaskById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ApiExceptionHandler.problem(taskService.taskDenied(id)));
     }
 
     /**
@@ -66,12 +68,8 @@ public class TaskController {
      */
     @PostMapping
     public ResponseEntity<TaskDTO> createTask(@RequestBody TaskDTO dto) {
-        try {
-            TaskDTO created = taskService.createTask(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(created);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        TaskDTO created = taskService.createTask(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     /**
@@ -79,17 +77,8 @@ public class TaskController {
      */
     @PutMapping("/{id}")
     public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @RequestBody TaskDTO dto) {
-        try {
-            TaskDTO updated = taskService.updateTask(id, dto);
-            return ResponseEntity.ok(updated);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("Unauthorized")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        TaskDTO updated = taskService.updateTask(id, dto);
+        return ResponseEntity.ok(updated);
     }
 
     /**
@@ -97,17 +86,8 @@ public class TaskController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        try {
-            taskService.deleteTask(id);
-            return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("Unauthorized")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        taskService.deleteTask(id);
+        return ResponseEntity.noContent().build();
     }
 
     /**
@@ -117,20 +97,24 @@ public class TaskController {
     public ResponseEntity<TaskDTO> updateTaskPosition(
             @PathVariable Long id,
             @RequestBody Map<String, Object> updates) {
-        try {
-            String newStatus = (String) updates.get("status");
-            Integer newPosition = (Integer) updates.get("position");
-
-            TaskDTO updated = taskService.updateTaskPosition(id, newStatus, newPosition);
-            return ResponseEntity.ok(updated);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("Unauthorized")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        TaskStatus newStatus = TaskStatus.fromLabel((String) updates.get("status"));
+        Integer newPosition = (Integer) updates.get("position");
+        if (newStatus == null || newPosition == null) {
+            return ResponseEntity.badRequest().build();
         }
+
+        TaskDTO updated = taskService.updateTaskPosition(id, newStatus, newPosition);
+        return ResponseEntity.ok(updated);
+    }
+
+    /**
+     * POST /api/tasks/batch - Apply many create / update / move / delete operations
+     * in one round trip and one transaction; returns one result per operation
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResultDTO>> applyBatch(@RequestBody List<BatchOperationDTO<TaskDTO>> operations) {
+        List<BatchResultDTO> results = taskService.applyBatch(operations);
+        return ResponseEntity.ok(results);
     }
 
     /**
@@ -138,11 +122,7 @@ public class TaskController {
      */
     @GetMapping("/search")
     public ResponseEntity<List<TaskDTO>> searchTasks(@RequestParam String q) {
-        try {
-            List<TaskDTO> results = taskService.searchTasks(q);
-            return ResponseEntity.ok(results);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        List<TaskDTO> results = taskService.searchTasks(q);
+        return ResponseEntity.ok(results);
     }
 }
@@ -1,13 +1,23 @@
 package com.lite.lite_backend.controller;
 
+import com.lite.lite_backend.dto.AccountImportResultDTO;
+import com.lite.lite_backend.dto.AuthResponse;
 import com.lite.lite_backend.dto.PasswordChangeRequest;
 import com.lite.lite_backend.dto.UserProfileDTO;
 import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.service.AccountArchiveService;
 import com.lite.lite_backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/users")
@@ -15,48 +25,69 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final AccountArchiveService accountArchiveService;
 
     /**
      * Get current user profile
      */
     @GetMapping("/profile")
-    public ResponseEntity<UserProfileDTO> getProfile(Authentication authentication) {
-        String email = authentication.getName();
-        UserProfileDTO profile = userService.getUserProfile(email);
+    public ResponseEntity<UserProfileDTO> getProfile() {
+        UserProfileDTO profile = userService.getUserProfile();
         return ResponseEntity.ok(profile);
     }
 
     /**
-     * Update user profile (name and email)
+     * Update user profile (name and email); when the email changed, the response
+     * carries a new token (jwtToken) that replaces the current one
      */
     @PutMapping("/profile")
     public ResponseEntity<UserProfileDTO> updateProfile(
-            @RequestBody UserProfileDTO profileDTO,
-            Authentication authentication) {
-        String email = authentication.getName();
-        UserProfileDTO updated = userService.updateUserProfile(email, profileDTO);
+            @RequestBody UserProfileDTO profileDTO) {
+        UserProfileDTO updated = userService.updateUserProfile(profileDTO);
         return ResponseEntity.ok(updated);
     }
 
     /**
-     * Change user password
+     * Change user password; earlier tokens stop working, the response carries
+     * the new token for this session
      */
     @PutMapping("/password")
-    public ResponseEntity<String> changePassword(
-            @RequestBody PasswordChangeRequest request,
-            Authentication authentication) {
-        String email = authentication.getName();
-        userService.changePassword(email, request.getCurrentPassword(), request.getNewPassword());
-        return ResponseEntity.ok("Password changed successfully");
+    public ResponseEntity<AuthResponse> changePassword(
+            @RequestBody PasswordChangeRequest request) {
+        AuthResponse response = userService.changePassword(request.getCurrentPassword(), request.getNewPassword());
+        return ResponseEntity.ok(response);
     }
 
     /**
      * Delete user account and all associated data
      */
     @DeleteMapping("/account")
-    public ResponseEntity<String> deleteAccount(Authentication authentication) {
-        String email = authentication.getName();
-        userService.deleteUserAccount(email);
+    public ResponseEntity<String> deleteAccount() {
+        userService.deleteUserAccount();
         return ResponseEntity.ok("Account deleted successfully");
     }
+
+    /**
+     * Download a ZIP backup of the whole account (notes as Markdown, versions,
+     * documents, tasks and job applications), streamed while it is built
+     */
+    @GetMapping("/account/export")
+    public ResponseEntity<StreamingResponseBody> exportAccount() {
+        String fileName = "lite-account-" + LocalDate.now() + ".zip";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(accountArchiveService.exportAccount());
+    }
+
+    /**
+     * Restore a ZIP backup (request body) into the current account; the archive
+     * is read entry by entry while it is uploaded
+     */
+    @PostMapping(value = "/account/import", consumes = { "application/zip", MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<AccountImportResultDTO> importAccount(HttpServletRequest request) throws IOException {
+        AccountImportResultDTO result = accountArchiveService.importAccount(request.getInputStream());
+        return ResponseEntity.ok(result);
+    }
 }
@@ -0,0 +1,20 @@
+package com.lite.lite_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class AccountImportResultDTO {
+    private int folders;
+    private int notes;
+    private int noteVersions;
+    private int documents;
+    private int tasks;
+    private int jobApplications;
+    private int skipped; // Rows missing required fields, or versions of notes not in the archive
+    private List<String> errors = new ArrayList<>(); // First rejected rows, e.g. "tasks.json row 3: unknown status"
+}
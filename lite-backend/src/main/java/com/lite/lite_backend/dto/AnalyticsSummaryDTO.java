@@ -0,0 +1,16 @@
+package com.lite.lite_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsSummaryDTO {
+    private JobAnalyticsDTO jobs;
+    private TaskAnalyticsDTO tasks;
+    private long notes;
+    private long documents;
+    private long folders;
+}
@@ -0,0 +1,11 @@
+package com.lite.lite_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class BatchOperationDTO<T> {
+    private String op; // "create", "update", "move" or "delete"
+    private String type; // Knowledge base only: "folder", "note" or "document"
+    private Long id; // Target of update / move / delete
+    private T data; // Fields for create / update / move
+}
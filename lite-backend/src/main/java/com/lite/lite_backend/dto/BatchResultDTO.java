@@ -0,0 +1,23 @@
+package com.lite.lite_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+    private int index; // Position of the operation in the request
+    private Long id; // Id of the affected (or created) entity
+    private int status; // HTTP-style outcome: 200, 201, 204, 400, 403 or 404
+    private String error;
+
+    public static BatchResultDTO ok(int index, Long id, int status) {
+        return new BatchResultDTO(index, id, status, null);
+    }
+
+    public static BatchResultDTO error(int index, Long id, int status, String error) {
+        return new BatchResultDTO(index, id, status, error);
+    }
+}
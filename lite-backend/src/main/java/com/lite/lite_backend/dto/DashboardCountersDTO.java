@@ -0,0 +1,17 @@
+package com.lite.lite_backend.dto;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class DashboardCountersDTO {
+    private long tasks;
+    private Map<String, Long> tasksByStatus = new LinkedHashMap<>();
+    private long jobs;
+    private Map<String, Long> jobsByStatus = new LinkedHashMap<>();
+    private long notes;
+    private long documents;
+    private long folders;
+}
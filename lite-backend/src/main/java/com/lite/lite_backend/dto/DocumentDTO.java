@@ -0,0 +1,11 @@
+package com.lite.lite_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class DocumentDTO {
+    private Long id;
+    private String fileName;
+    private String documentUrl;
+    private Long folderId;
+}
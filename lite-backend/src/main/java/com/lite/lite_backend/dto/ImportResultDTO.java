@@ -0,0 +1,17 @@
+package com.lite.lite_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private int imported; // Rows inserted
+    private int skipped; // Rows rejected by validation
+    private List<String> errors = new ArrayList<>(); // First rejected rows, e.g. "line 12: company is required"
+}
@@ -0,0 +1,18 @@
+package com.lite.lite_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class JobAnalyticsDTO {
+    private long total;
+    private Map<String, Long> byStatus = new LinkedHashMap<>();
+    private List<WeeklyCountDTO> applicationsPerWeek = new ArrayList<>(); // Oldest first, empty weeks included
+    private List<ResponseRateDTO> responseRates = new ArrayList<>(); // Most used way of applying first
+}
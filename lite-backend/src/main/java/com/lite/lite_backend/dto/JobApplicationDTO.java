@@ -1,5 +1,6 @@
 package com.lite.lite_backend.dto;
 
+import com.lite.lite_backend.entity.JobStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,7 +16,7 @@ public class JobApplicationDTO {
     private String company;
     private String wayOfApplying;
     private String contact;
-    private String status;
+    private JobStatus status;
     private LocalDate dateApplied;
     private String jobDescription;
     private String cvUrl;
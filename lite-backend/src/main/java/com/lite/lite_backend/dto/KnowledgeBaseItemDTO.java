@@ -0,0 +1,11 @@
+package com.lite.lite_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class KnowledgeBaseItemDTO {
+    private String name; // Folder name
+    private String title; // Note title
+    private String content; // Note content
+    private Long folderId; // Target folder (parent folder for folders), null for root
+}
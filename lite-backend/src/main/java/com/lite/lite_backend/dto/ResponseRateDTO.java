@@ -0,0 +1,15 @@
+package com.lite.lite_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponseRateDTO {
+    private String wayOfApplying; // Lower case; null when not filled in
+    private long applications;
+    private long responses; // Applications that left the waiting statuses
+    private double rate; // responses / applications, between 0 and 1
+}
@@ -0,0 +1,18 @@
+package com.lite.lite_backend.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class SyncResponseDTO {
+    private Long cursor; // Pass back as ?since= on the next sync
+    private boolean fullResync; // True when everything is returned and the local copy should be replaced
+    private List<FolderDTO> folders = new ArrayList<>();
+    private List<NoteDTO> notes = new ArrayList<>();
+    private List<DocumentDTO> documents = new ArrayList<>();
+    private List<TaskDTO> tasks = new ArrayList<>();
+    private List<JobApplicationDTO> jobApplications = new ArrayList<>();
+    private List<TombstoneDTO> deleted = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.lite.lite_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class TaskAnalyticsDTO {
+    private long total;
+    private Map<String, Long> byStatus = new LinkedHashMap<>();
+    private List<WeeklyCountDTO> completedPerWeek = new ArrayList<>(); // Tasks moved to DONE, oldest week first
+    private long overdue; // Not done and past their due date
+}
@@ -1,12 +1,14 @@
 package com.lite.lite_backend.dto;
 
+import com.lite.lite_backend.entity.TaskStatus;
+
 import java.time.LocalDateTime;
 
 public class TaskDTO {
     private Long id;
     private String title;
     private String description;
-    private String status;
+    private TaskStatus status;
     private Integer position;
     private LocalDateTime dueDate;
     private LocalDateTime createdAt;
@@ -16,7 +18,7 @@ public class TaskDTO {
     public TaskDTO() {
     }
 
-    public TaskDTO(Long id, String title, String description, String status, Integer position,
+    public TaskDTO(Long id, String title, String description, TaskStatus status, Integer position,
             LocalDateTime dueDate, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.title = title;
@@ -53,11 +55,11 @@ public class TaskDTO {
         this.description = description;
     }
 
-    public String getStatus() {
+    public TaskStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(TaskStatus status) {
         this.status = status;
     }
 
@@ -0,0 +1,13 @@
+package com.lite.lite_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TombstoneDTO {
+    private String type; // "note", "folder", "document", "task" or "job"
+    private Long id;
+}
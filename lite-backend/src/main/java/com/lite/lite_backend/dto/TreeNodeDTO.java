@@ -0,0 +1,27 @@
+package com.lite.lite_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One node of the lazily expanded knowledge base tree.
+ * Folders carry their immediate child counts; children are only present when the folder was expanded.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TreeNodeDTO {
+    private Long id;
+    private String name; // Folder name, note title or document file name
+    private String type; // "folder", "note" or "document"
+    private String documentUrl;
+
+    // Folders only
+    private Integer folderCount;
+    private Integer noteCount;
+    private Integer documentCount;
+    private Boolean hasChildren;
+    private List<TreeNodeDTO> children; // null = not expanded
+    private Integer nextOffset; // Set when more children exist after this page
+}
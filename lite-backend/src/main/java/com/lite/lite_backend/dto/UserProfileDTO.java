@@ -1,5 +1,6 @@
 package com.lite.lite_backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,4 +11,13 @@ import lombok.NoArgsConstructor;
 public class UserProfileDTO {
     private String username;
     private String email;
+
+    // Only set in the response to an email change: the token issued for the new email
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String jwtToken;
+
+    public UserProfileDTO(String username, String email) {
+        this.username = username;
+        this.email = email;
+    }
 }
@@ -0,0 +1,15 @@
+package com.lite.lite_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyCountDTO {
+    private LocalDate weekStart; // Monday of the week
+    private long count;
+}
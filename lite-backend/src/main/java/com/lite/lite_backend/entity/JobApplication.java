@@ -5,8 +5,10 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "job_applications")
@@ -16,7 +18,8 @@ import java.time.LocalDate;
 public class JobApplication {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_applications_seq")
+    @SequenceGenerator(name = "job_applications_seq", sequenceName = "job_applications_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,8 +31,9 @@ public class JobApplication {
     @Column(nullable = true)
     private String contact; // Contact email or link
 
+    @Convert(converter = JobStatusConverter.class)
     @Column(nullable = false)
-    private String status; // e.g., "Submitted", "In Progress", "Rejected", "Awaiting Response"
+    private JobStatus status;
 
     @Column(nullable = false)
     private LocalDate dateApplied;
@@ -40,6 +44,10 @@ public class JobApplication {
     @Column(length = 500)
     private String cvUrl; // URL of uploaded CV (nullable)
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt; // Last change, used by delta sync
+
     // Relationship: Many JobApplications belong to One User
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -0,0 +1,62 @@
+package com.lite.lite_backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Stage of a job application.
+ * Stored as a smallint code (see JobStatusConverter), exchanged in JSON by its label.
+ * Codes are part of the schema: never reuse or renumber them.
+ */
+public enum JobStatus {
+    SUBMITTED(0, "Submitted"),
+    IN_PROGRESS(1, "In Progress"),
+    AWAITING_RESPONSE(2, "Awaiting Response"),
+    REJECTED(3, "Rejected");
+
+    private final short code;
+    private final String label;
+
+    JobStatus(int code, String label) {
+        this.code = (short) code;
+        this.label = label;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Parse a label as sent by clients ("Awaiting Response", also "AWAITING_RESPONSE")
+     *
+     * @return the status, or null for null
+     * @throws IllegalArgumentException for an unknown label
+     */
+    @JsonCreator
+    public static JobStatus fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        String normalized = label.trim().replace('_', ' ');
+        for (JobStatus status : values()) {
+            if (status.label.equalsIgnoreCase(normalized)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown job status: " + label);
+    }
+
+    public static JobStatus fromCode(short code) {
+        for (JobStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown job status code: " + code);
+    }
+}
@@ -0,0 +1,21 @@
+package com.lite.lite_backend.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps JobStatus to its smallint code
+ */
+@Converter
+public class JobStatusConverter implements AttributeConverter<JobStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(JobStatus status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public JobStatus convertToEntityAttribute(Short code) {
+        return code != null ? JobStatus.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.lite.lite_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Body of a note, kept apart from the notes table so listings, moves and ownership checks
+ * read narrow rows. Shares the note's id; deleted with the note (ON DELETE CASCADE).
+ */
+@Entity
+@Table(name = "note_contents")
+@Data
+@NoArgsConstructor
+public class NoteContent implements Persistable<Long> {
+
+    @Id
+    @Column(name = "note_id")
+    private Long noteId;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    // Bodies of new notes are inserted directly, without first looking for an existing row
+    @Transient
+    private boolean created;
+
+    public NoteContent(Long noteId, String content, boolean created) {
+        this.noteId = noteId;
+        this.content = content;
+        this.created = created;
+    }
+
+    @Override
+    public Long getId() {
+        return noteId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        created = false;
+    }
+}
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 public class NoteVersion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_versions_seq")
+    @SequenceGenerator(name = "note_versions_seq", sequenceName = "note_versions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -18,8 +19,9 @@ public class Task {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    @Convert(converter = TaskStatusConverter.class)
     @Column(nullable = false)
-    private String status; // "TODO", "IN_PROGRESS", "DONE"
+    private TaskStatus status;
 
     @Column(nullable = false)
     private Integer position; // For drag-and-drop ordering
@@ -52,7 +54,7 @@ public class Task {
     public Task() {
     }
 
-    public Task(String title, String description, String status, Integer position, User user) {
+    public Task(String title, String description, TaskStatus status, Integer position, User user) {
         this.title = title;
         this.description = description;
         this.status = status;
@@ -85,11 +87,11 @@ public class Task {
         this.description = description;
     }
 
-    public String getStatus() {
+    public TaskStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(TaskStatus status) {
         this.status = status;
     }
 
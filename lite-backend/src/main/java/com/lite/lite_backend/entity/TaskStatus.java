@@ -0,0 +1,61 @@
+package com.lite.lite_backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Kanban column of a task.
+ * Stored as a smallint code (see TaskStatusConverter), exchanged in JSON by its label.
+ * Codes are part of the schema: never reuse or renumber them.
+ */
+public enum TaskStatus {
+    TODO(0, "TODO"),
+    IN_PROGRESS(1, "IN_PROGRESS"),
+    DONE(2, "DONE");
+
+    private final short code;
+    private final String label;
+
+    TaskStatus(int code, String label) {
+        this.code = (short) code;
+        this.label = label;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Parse a label as sent by clients ("TODO", "in_progress", ...)
+     *
+     * @return the status, or null for null
+     * @throws IllegalArgumentException for an unknown label
+     */
+    @JsonCreator
+    public static TaskStatus fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        String normalized = label.trim().replace(' ', '_');
+        for (TaskStatus status : values()) {
+            if (status.label.equalsIgnoreCase(normalized)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task status: " + label);
+    }
+
+    public static TaskStatus fromCode(short code) {
+        for (TaskStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task status code: " + code);
+    }
+}
@@ -0,0 +1,21 @@
+package com.lite.lite_backend.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps TaskStatus to its smallint code
+ */
+@Converter
+public class TaskStatusConverter implements AttributeConverter<TaskStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TaskStatus status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public TaskStatus convertToEntityAttribute(Short code) {
+        return code != null ? TaskStatus.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.lite.lite_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted entity, so sync clients can learn about deletes.
+ * Kept for a limited time (see SyncService); older cursors need a full resync.
+ */
+@Entity
+@Table(name = "tombstones")
+@Data
+public class Tombstone {
+
+    // Entity types (same names as the "type" field of the tree DTOs)
+    public static final String NOTE = "note";
+    public static final String FOLDER = "folder";
+    public static final String DOCUMENT = "document";
+    public static final String TASK = "task";
+    public static final String JOB_APPLICATION = "job";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @CreationTimestamp
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+}
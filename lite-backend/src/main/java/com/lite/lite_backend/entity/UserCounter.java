@@ -0,0 +1,30 @@
+package com.lite.lite_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * One dashboard number of a user (tasks or jobs in a status, notes, documents, folders).
+ * Maintained by the write paths in the same transaction as the change (see DashboardCounterService).
+ */
+@Entity
+@Table(name = "user_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_counters_user_name", columnNames = { "user_id", "counter_name" })
+})
+@Data
+public class UserCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "counter_name", nullable = false, length = 300)
+    private String name;
+
+    @Column(name = "counter_value", nullable = false)
+    private long value;
+}
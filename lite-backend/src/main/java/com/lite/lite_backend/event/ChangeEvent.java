@@ -0,0 +1,13 @@
+package com.lite.lite_backend.event;
+
+/**
+ * Domain event published after a user's data changes.
+ * Listeners (e.g. the live change stream) react once the surrounding transaction commits.
+ *
+ * @param userId   owner of the changed data
+ * @param type     what happened, as "{entity}.{action}" - e.g. "task.moved", "note.saved",
+ *                 "folder.created", "document.uploaded", "job.deleted"
+ * @param entityId id of the changed entity
+ */
+public record ChangeEvent(Long userId, String type, Long entityId) {
+}
@@ -0,0 +1,13 @@
+package com.lite.lite_backend.event;
+
+import java.util.List;
+
+/**
+ * Published when rows pointing to uploaded files were deleted.
+ * The files are removed from storage in the background once the transaction commits
+ * (see StorageCleanupService); a rollback keeps them.
+ *
+ * @param urls URLs of the files that may no longer be referenced
+ */
+public record StoredFilesReleasedEvent(List<String> urls) {
+}
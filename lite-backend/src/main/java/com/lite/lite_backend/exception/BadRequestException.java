@@ -0,0 +1,13 @@
+package com.lite.lite_backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a request is well-formed but can't be applied, e.g. a wrong current password (400).
+ */
+public class BadRequestException extends DomainException {
+
+    public BadRequestException(String message) {
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+}
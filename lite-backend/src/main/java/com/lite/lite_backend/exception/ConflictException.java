@@ -0,0 +1,13 @@
+package com.lite.lite_backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a write clashes with existing data, e.g. an email that is already taken (409).
+ */
+public class ConflictException extends DomainException {
+
+    public ConflictException(String message) {
+        super(HttpStatus.CONFLICT, message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.lite.lite_backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class of the expected errors of the API (missing or foreign ids, conflicts, bad input).
+ * These are normal control flow, so no stack trace is captured: throwing one costs about as much
+ * as returning a value. {@code ApiExceptionHandler} turns them into problem-detail responses.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    protected DomainException(HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,13 @@
+package com.lite.lite_backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when an id exists but belongs to another user (403).
+ */
+public class ForbiddenException extends DomainException {
+
+    public ForbiddenException() {
+        super(HttpStatus.FORBIDDEN, "Unauthorized access");
+    }
+}
@@ -0,0 +1,16 @@
+package com.lite.lite_backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when an id doesn't exist (404).
+ */
+public class NotFoundException extends DomainException {
+
+    /**
+     * @param label entity name used in the message (e.g. "Task" gives "Task not found")
+     */
+    public NotFoundException(String label) {
+        super(HttpStatus.NOT_FOUND, label + " not found");
+    }
+}
@@ -0,0 +1,14 @@
+package com.lite.lite_backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when the password hashing pool and its queue are both full.
+ * The request is rejected immediately instead of waiting for a free hashing thread.
+ */
+public class PasswordHashingBusyException extends DomainException {
+
+    public PasswordHashingBusyException() {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent password hashing requests");
+    }
+}
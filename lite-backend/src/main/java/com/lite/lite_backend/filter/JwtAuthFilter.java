@@ -1,7 +1,9 @@
 package com.lite.lite_backend.filter;
 
+import com.lite.lite_backend.entity.User;
 import com.lite.lite_backend.service.CustomUserDetailsService;
 import com.lite.lite_backend.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -50,17 +52,27 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            // Extract the email from the token
-            userEmail = jwtUtil.extractEmail(jwt);
+            // Parse the token once (this also checks the signature and expiration)
+            Claims claims = jwtUtil.extractAllClaims(jwt);
+            userEmail = claims.getSubject();
 
             // If we have an email and no authentication is set yet
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                
-                // Load the user details from the database
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
 
-                // Validate the token
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                UserDetails userDetails = null;
+                if (jwtUtil.hasStatelessPrincipal(claims)) {
+                    // Build the principal from the token claims (no database access)
+                    userDetails = jwtUtil.buildPrincipal(claims);
+                } else {
+                    // Load the user details from the database and validate the token
+                    UserDetails loaded = userDetailsService.loadUserByUsername(userEmail);
+                    if (jwtUtil.validateToken(jwt, loaded) && loaded instanceof User user
+                            && jwtUtil.isIssuedTo(claims, user)) {
+                        userDetails = loaded;
+                    }
+                }
+
+                if (userDetails != null) {
                     // Create an authentication token
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -3,14 +3,100 @@ package com.lite.lite_backend.repository;
 import com.lite.lite_backend.entity.Document;
 import com.lite.lite_backend.entity.User;
 import com.lite.lite_backend.entity.Folder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface DocumentRepository extends JpaRepository<Document, Long> {
+public interface DocumentRepository extends JpaRepository<Document, Long>, OwnedRepository<Document> {
     List<Document> findByUser(User user);
 
+    long countByUser(User user);
+
     List<Document> findByUserAndFolder(User user, Folder folder);
+
+    /**
+     * Find the documents of a user written by transactions at or after a sync cursor (delta sync, see V10)
+     */
+    @Query(value = "SELECT * FROM documents WHERE user_id = :userId AND change_xid >= :cursor", nativeQuery = true)
+    List<Document> findChangedSince(@Param("userId") Long userId, @Param("cursor") long cursor);
+
+    /**
+     * Stream all documents of a user in chunks (account export)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Document d WHERE d.user = :user ORDER BY d.id")
+    Stream<Document> streamByUser(@Param("user") User user);
+
+    /**
+     * Number of documents anywhere in a folder's subtree
+     */
+    @Query(value = "SELECT count(*) FROM documents x JOIN folder_closure c ON c.descendant_id = x.folder_id "
+            + "WHERE c.ancestor_id = :folderId", nativeQuery = true)
+    long countInFolderSubtree(@Param("folderId") Long folderId);
+
+    /**
+     * URLs of the files of the documents in a folder's subtree (storage cleanup after a delete)
+     */
+    @Query(value = "SELECT d.document_url FROM documents d JOIN folder_closure c ON c.descendant_id = d.folder_id "
+            + "WHERE c.ancestor_id = :folderId AND d.document_url IS NOT NULL", nativeQuery = true)
+    List<String> findUrlsInFolderSubtree(@Param("folderId") Long folderId);
+
+    /**
+     * URLs of documents and job applications (any user) ending with a given suffix, as a LIKE pattern
+     * on the reversed URL ("fdp.vc/%"), so the reverse(url) indexes serve it (storage cleanup)
+     */
+    @Query(value = "SELECT d.document_url FROM documents d WHERE reverse(d.document_url) LIKE :reversedPattern "
+            + "UNION SELECT j.cv_url FROM job_applications j WHERE reverse(j.cv_url) LIKE :reversedPattern",
+            nativeQuery = true)
+    List<String> findFileUrlsByReversedPattern(@Param("reversedPattern") String reversedPattern);
+
+    /**
+     * Of the given file URLs, those the user's own documents or job applications already point to
+     * (imports may only reference files the account owns)
+     */
+    @Query(value = "SELECT d.document_url FROM documents d WHERE d.user_id = :userId AND d.document_url IN (:urls) "
+            + "UNION SELECT j.cv_url FROM job_applications j WHERE j.user_id = :userId AND j.cv_url IN (:urls)",
+            nativeQuery = true)
+    List<String> findOwnedFileUrls(@Param("userId") Long userId, @Param("urls") Collection<String> urls);
+
+    /**
+     * Delete the documents anywhere in a folder's subtree
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM documents WHERE folder_id IN (SELECT descendant_id FROM folder_closure WHERE ancestor_id = :folderId)",
+            nativeQuery = true)
+    void deleteInFolderSubtree(@Param("folderId") Long folderId);
+
+    /**
+     * Get the headers of all documents of a user in one query
+     */
+    @Query("SELECT d.id AS id, d.fileName AS fileName, d.documentUrl AS documentUrl, f.id AS folderId "
+            + "FROM Document d LEFT JOIN d.folder f WHERE d.user = :user ORDER BY d.id")
+    List<DocumentHeader> findHeadersByUser(@Param("user") User user);
+
+    /**
+     * Id, file name, URL and folder of a document
+     */
+    interface DocumentHeader {
+        Long getId();
+
+        String getFileName();
+
+        String getDocumentUrl();
+
+        Long getFolderId();
+    }
 }
@@ -3,15 +3,122 @@ package com.lite.lite_backend.repository;
 import com.lite.lite_backend.entity.Folder;
 import com.lite.lite_backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface FolderRepository extends JpaRepository<Folder, Long> {
+public interface FolderRepository extends JpaRepository<Folder, Long>, OwnedRepository<Folder> {
     List<Folder> findByUser(User user);
 
+    long countByUser(User user);
+
     List<Folder> findByUserAndParentFolderIsNull(User user);
 
     List<Folder> findByUserAndParentFolder(User user, Folder parentFolder);
+
+    /**
+     * Find the folders of a user written by transactions at or after a sync cursor (delta sync, see V10)
+     */
+    @Query(value = "SELECT * FROM folders WHERE user_id = :userId AND change_xid >= :cursor", nativeQuery = true)
+    List<Folder> findChangedSince(@Param("userId") Long userId, @Param("cursor") long cursor);
+
+    /**
+     * Get the headers of all folders of a user in one query
+     */
+    @Query("SELECT f.id AS id, f.name AS name, p.id AS parentFolderId "
+            + "FROM Folder f LEFT JOIN f.parentFolder p WHERE f.user = :user ORDER BY f.id")
+    List<FolderHeader> findHeadersByUser(@Param("user") User user);
+
+    // ---------- Hierarchy (folder_closure: one row per ancestor / descendant pair, self included at depth 0) ----------
+
+    /**
+     * Ids of a folder and every folder below it
+     */
+    @Query(value = "SELECT descendant_id FROM folder_closure WHERE ancestor_id = :folderId", nativeQuery = true)
+    List<Long> findSubtreeIds(@Param("folderId") Long folderId);
+
+    /**
+     * Number of folders in a subtree, the folder itself included
+     */
+    @Query(value = "SELECT count(*) FROM folder_closure WHERE ancestor_id = :folderId", nativeQuery = true)
+    long countSubtree(@Param("folderId") Long folderId);
+
+    /**
+     * Breadcrumb of a folder: its ancestors from the root down to the folder itself
+     */
+    @Query(value = "SELECT f.id AS id, f.name AS name, f.parent_folder_id AS parentFolderId "
+            + "FROM folder_closure c JOIN folders f ON f.id = c.ancestor_id "
+            + "WHERE c.descendant_id = :folderId ORDER BY c.depth DESC", nativeQuery = true)
+    List<FolderHeader> findPath(@Param("folderId") Long folderId);
+
+    /**
+     * Whether a folder is the given ancestor or somewhere below it
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM folder_closure WHERE ancestor_id = :ancestorId AND descendant_id = :folderId)",
+            nativeQuery = true)
+    boolean isInSubtree(@Param("folderId") Long folderId, @Param("ancestorId") Long ancestorId);
+
+    /**
+     * Index a new folder: its parent's ancestors plus itself
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO folder_closure (ancestor_id, descendant_id, depth) "
+            + "SELECT ancestor_id, :folderId, depth + 1 FROM folder_closure WHERE descendant_id = CAST(:parentId AS BIGINT) "
+            + "UNION ALL SELECT :folderId, :folderId, 0", nativeQuery = true)
+    void insertClosure(@Param("folderId") Long folderId, @Param("parentId") Long parentId);
+
+    /**
+     * First half of a move: cut the links between a subtree and the folders above it
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM folder_closure "
+            + "WHERE descendant_id IN (SELECT descendant_id FROM folder_closure WHERE ancestor_id = :folderId) "
+            + "AND ancestor_id NOT IN (SELECT descendant_id FROM folder_closure WHERE ancestor_id = :folderId)",
+            nativeQuery = true)
+    void detachSubtree(@Param("folderId") Long folderId);
+
+    /**
+     * Second half of a move: link every folder of the subtree to the new parent and its ancestors
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO folder_closure (ancestor_id, descendant_id, depth) "
+            + "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 "
+            + "FROM folder_closure a CROSS JOIN folder_closure d "
+            + "WHERE a.descendant_id = :parentId AND d.ancestor_id = :folderId", nativeQuery = true)
+    void attachSubtree(@Param("folderId") Long folderId, @Param("parentId") Long parentId);
+
+    /**
+     * Delete a folder and every folder below it (their closure rows follow by cascade).
+     * The persistence context is cleared, as it may still hold the deleted folders.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM folders WHERE id IN (SELECT descendant_id FROM folder_closure WHERE ancestor_id = :folderId)",
+            nativeQuery = true)
+    void deleteSubtree(@Param("folderId") Long folderId);
+
+    /**
+     * Index the folders of a user that have no closure rows yet (folders inserted with plain SQL, e.g. imports)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO folder_closure (ancestor_id, descendant_id, depth) "
+            + "WITH RECURSIVE tree (ancestor_id, descendant_id, depth) AS ("
+            + "  SELECT id, id, 0 FROM folders WHERE user_id = :userId "
+            + "  UNION ALL SELECT t.ancestor_id, f.id, t.depth + 1 FROM tree t JOIN folders f ON f.parent_folder_id = t.descendant_id) "
+            + "SELECT ancestor_id, descendant_id, depth FROM tree ON CONFLICT DO NOTHING", nativeQuery = true)
+    void insertMissingClosures(@Param("userId") Long userId);
+
+    /**
+     * Id, name and parent of a folder (tree building without loading entities)
+     */
+    interface FolderHeader {
+        Long getId();
+
+        String getName();
+
+        Long getParentFolderId();
+    }
 }
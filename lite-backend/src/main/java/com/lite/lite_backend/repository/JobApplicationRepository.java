@@ -1,14 +1,23 @@
 package com.lite.lite_backend.repository;
 
 import com.lite.lite_backend.entity.JobApplication;
+import com.lite.lite_backend.entity.JobStatus;
 import com.lite.lite_backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
+public interface JobApplicationRepository extends JpaRepository<JobApplication, Long>, OwnedRepository<JobApplication> {
 
     /**
      * Find all job applications for a specific user
@@ -26,4 +35,55 @@ public interface JobApplicationRepository extends JpaRepository<JobApplication,
      * @return list of job applications ordered by date
      */
     List<JobApplication> findByUserOrderByDateAppliedDesc(User user);
+
+    /**
+     * Find the job applications of a user written by transactions at or after a sync cursor (delta sync, see V10)
+     */
+    @Query(value = "SELECT * FROM job_applications WHERE user_id = :userId AND change_xid >= :cursor", nativeQuery = true)
+    List<JobApplication> findChangedSince(@Param("userId") Long userId, @Param("cursor") long cursor);
+
+    /**
+     * Stream all job applications of a user (newest first) without loading them all at once.
+     * Rows are fetched from the database in chunks; must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT j FROM JobApplication j WHERE j.user = :user ORDER BY j.dateApplied DESC, j.id DESC")
+    Stream<JobApplication> streamByUser(@Param("user") User user);
+
+    // ============================================
+    // Analytics (aggregated in the database)
+    // ============================================
+
+    /**
+     * Count a user's job applications per status
+     *
+     * @return rows of [status, count]
+     */
+    @Query("SELECT j.status, COUNT(j) FROM JobApplication j WHERE j.user = :user GROUP BY j.status")
+    List<Object[]> countByStatus(@Param("user") User user);
+
+    /**
+     * Count a user's job applications per week (weeks start on Monday), from a date on
+     *
+     * @return rows of [week start, count], oldest first
+     */
+    @Query(value = "SELECT CAST(date_trunc('week', date_applied) AS date) AS week, COUNT(*) "
+            + "FROM job_applications WHERE user_id = :userId AND date_applied >= :since "
+            + "GROUP BY week ORDER BY week", nativeQuery = true)
+    List<Object[]> countPerWeek(@Param("userId") Long userId, @Param("since") LocalDate since);
+
+    /**
+     * Count a user's job applications per way of applying, and how many of them got an answer
+     * (any status other than the waiting ones)
+     *
+     * @return rows of [way of applying (lower case, may be null), applications, responses]
+     */
+    @Query("SELECT LOWER(TRIM(j.wayOfApplying)), COUNT(j), "
+            + "SUM(CASE WHEN j.status IN :waitingStatuses THEN 0 ELSE 1 END) "
+            + "FROM JobApplication j WHERE j.user = :user GROUP BY LOWER(TRIM(j.wayOfApplying))")
+    List<Object[]> countResponsesByWayOfApplying(@Param("user") User user,
+            @Param("waitingStatuses") Collection<JobStatus> waitingStatuses);
 }
@@ -0,0 +1,9 @@
+package com.lite.lite_backend.repository;
+
+import com.lite.lite_backend.entity.NoteContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NoteContentRepository extends JpaRepository<NoteContent, Long> {
+}
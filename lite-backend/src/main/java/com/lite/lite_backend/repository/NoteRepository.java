@@ -3,14 +3,84 @@ package com.lite.lite_backend.repository;
 import com.lite.lite_backend.entity.Note;
 import com.lite.lite_backend.entity.User;
 import com.lite.lite_backend.entity.Folder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface NoteRepository extends JpaRepository<Note, Long> {
+public interface NoteRepository extends JpaRepository<Note, Long>, OwnedRepository<Note> {
     List<Note> findByUser(User user);
 
+    long countByUser(User user);
+
     List<Note> findByUserAndFolder(User user, Folder folder);
+
+    /**
+     * Find the notes of a user written by transactions at or after a sync cursor (delta sync, see V10)
+     */
+    @Query(value = "SELECT * FROM notes WHERE user_id = :userId AND change_xid >= :cursor", nativeQuery = true)
+    List<Note> findChangedSince(@Param("userId") Long userId, @Param("cursor") long cursor);
+
+    /**
+     * Stream all notes of a user with their bodies in chunks (account export); must be consumed inside a transaction
+     *
+     * @return rows of [note, content (may be null)]
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT n, c.content FROM Note n LEFT JOIN NoteContent c ON c.noteId = n.id "
+            + "WHERE n.user = :user ORDER BY n.id")
+    Stream<Object[]> streamWithContentByUser(@Param("user") User user);
+
+    /**
+     * Number of notes anywhere in a folder's subtree
+     */
+    @Query(value = "SELECT count(*) FROM notes x JOIN folder_closure c ON c.descendant_id = x.folder_id "
+            + "WHERE c.ancestor_id = :folderId", nativeQuery = true)
+    long countInFolderSubtree(@Param("folderId") Long folderId);
+
+    /**
+     * Delete the notes anywhere in a folder's subtree
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM notes WHERE folder_id IN (SELECT descendant_id FROM folder_closure WHERE ancestor_id = :folderId)",
+            nativeQuery = true)
+    void deleteInFolderSubtree(@Param("folderId") Long folderId);
+
+    /**
+     * Delete a note of a user (owner-filtered; its content row goes with it)
+     *
+     * @return 1 when deleted, 0 when the id is missing or someone else's
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Note n WHERE n.id = :id AND n.user.id = :userId")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Get the headers of all notes of a user in one query (content is not loaded)
+     */
+    @Query("SELECT n.id AS id, n.title AS title, f.id AS folderId "
+            + "FROM Note n LEFT JOIN n.folder f WHERE n.user = :user ORDER BY n.id")
+    List<NoteHeader> findHeadersByUser(@Param("user") User user);
+
+    /**
+     * Id, title and folder of a note, without its content
+     */
+    interface NoteHeader {
+        Long getId();
+
+        String getTitle();
+
+        Long getFolderId();
+    }
 }
@@ -2,14 +2,62 @@ package com.lite.lite_backend.repository;
 
 import com.lite.lite_backend.entity.Note;
 import com.lite.lite_backend.entity.NoteVersion;
+import com.lite.lite_backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface NoteVersionRepository extends JpaRepository<NoteVersion, Long> {
     List<NoteVersion> findByNoteOrderByVersionNumberDesc(Note note);
 
     int countByNote(Note note);
+
+    /**
+     * Highest version number per note, for several notes in one query (notes without history are absent)
+     */
+    @Query("SELECT v.note.id, MAX(v.versionNumber) FROM NoteVersion v WHERE v.note.id IN :noteIds GROUP BY v.note.id")
+    List<Object[]> findMaxVersionNumbers(@Param("noteIds") Collection<Long> noteIds);
+
+    /**
+     * Find a version, only if it belongs to the given note
+     */
+    Optional<NoteVersion> findByIdAndNoteId(Long id, Long noteId);
+
+    /**
+     * Delete the version history of a note, only if the note belongs to the given user
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM note_versions WHERE note_id = "
+            + "(SELECT n.id FROM notes n WHERE n.id = :noteId AND n.user_id = :userId)", nativeQuery = true)
+    void deleteForOwnedNote(@Param("noteId") Long noteId, @Param("userId") Long userId);
+
+    /**
+     * Delete the version history of every note in a folder's subtree
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM note_versions WHERE note_id IN (SELECT n.id FROM notes n "
+            + "JOIN folder_closure c ON c.descendant_id = n.folder_id WHERE c.ancestor_id = :folderId)",
+            nativeQuery = true)
+    void deleteInFolderSubtree(@Param("folderId") Long folderId);
+
+    /**
+     * Stream the version history of all notes of a user in chunks (account export)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v FROM NoteVersion v WHERE v.note.user = :user ORDER BY v.note.id, v.versionNumber")
+    Stream<NoteVersion> streamByUser(@Param("user") User user);
 }
@@ -0,0 +1,25 @@
+package com.lite.lite_backend.repository;
+
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+
+/**
+ * Owner-scoped lookups shared by the repositories of user data.
+ * The owner filter is part of the query, so a foreign id simply matches nothing.
+ *
+ * @param <T> the entity type (must have a {@code user} association)
+ */
+@NoRepositoryBean
+public interface OwnedRepository<T> {
+
+    /**
+     * Find an entity by id, only if it belongs to the given user
+     */
+    Optional<T> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Whether an entity with this id belongs to the given user (no entity is loaded)
+     */
+    boolean existsByIdAndUserId(Long id, Long userId);
+}
@@ -1,14 +1,23 @@
 package com.lite.lite_backend.repository;
 
 import com.lite.lite_backend.entity.Task;
+import com.lite.lite_backend.entity.TaskStatus;
 import com.lite.lite_backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, OwnedRepository<Task> {
 
     /**
      * Find all tasks for a specific user
@@ -24,5 +33,63 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      * Find all tasks for a specific user with a specific status, ordered by
      * position
      */
-    List<Task> findByUserAndStatusOrderByPositionAsc(User user, String status);
+    List<Task> findByUserAndStatusOrderByPositionAsc(User user, TaskStatus status);
+
+    /**
+     * Find the tasks of a user written by transactions at or after a sync cursor (delta sync, see V10)
+     */
+    @Query(value = "SELECT * FROM tasks WHERE user_id = :userId AND change_xid >= :cursor", nativeQuery = true)
+    List<Task> findChangedSince(@Param("userId") Long userId, @Param("cursor") long cursor);
+
+    /**
+     * Shift the positions of a user's tasks in a column, from a position on, in one statement
+     * (drag-and-drop renumbering; the moved task itself is left out)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.position = t.position + :delta, t.updatedAt = :now "
+            + "WHERE t.user.id = :userId AND t.status = :status AND t.position >= :fromPosition AND t.id <> :movedId")
+    int shiftPositions(@Param("userId") Long userId, @Param("status") TaskStatus status,
+            @Param("fromPosition") int fromPosition, @Param("delta") int delta,
+            @Param("movedId") Long movedId, @Param("now") LocalDateTime now);
+
+    /**
+     * Stream all tasks of a user in chunks, column by column (account export)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE t.user = :user ORDER BY t.status, t.position")
+    Stream<Task> streamByUser(@Param("user") User user);
+
+    // ============================================
+    // Analytics (aggregated in the database)
+    // ============================================
+
+    /**
+     * Count a user's tasks per status
+     *
+     * @return rows of [status, count]
+     */
+    @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.user = :user GROUP BY t.status")
+    List<Object[]> countByStatus(@Param("user") User user);
+
+    /**
+     * Count a user's tasks with a status per week of their last change (weeks start on Monday)
+     *
+     * @param status the stored status code ({@link TaskStatus#getCode()})
+     * @return rows of [week start, count], oldest first
+     */
+    @Query(value = "SELECT CAST(date_trunc('week', updated_at) AS date) AS week, COUNT(*) "
+            + "FROM tasks WHERE user_id = :userId AND status = :status AND updated_at >= :since "
+            + "GROUP BY week ORDER BY week", nativeQuery = true)
+    List<Object[]> countPerWeekByStatus(@Param("userId") Long userId, @Param("status") short status,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Count a user's tasks that are past their due date and not in the given (done) status
+     */
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.user = :user AND t.status <> :doneStatus AND t.dueDate < :now")
+    long countOverdue(@Param("user") User user, @Param("doneStatus") TaskStatus doneStatus,
+            @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,78 @@
+package com.lite.lite_backend.repository;
+
+import com.lite.lite_backend.entity.Tombstone;
+import com.lite.lite_backend.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    /**
+     * Find the deletes of a user recorded by transactions at or after a sync cursor (delta sync, see V10)
+     */
+    @Query(value = "SELECT * FROM tombstones WHERE user_id = :userId AND change_xid >= :cursor", nativeQuery = true)
+    List<Tombstone> findChangedSince(@Param("userId") Long userId, @Param("cursor") long cursor);
+
+    /**
+     * Where a sync of the user stands, read before its changes:
+     * - xmin: the oldest transaction still running, which becomes the next cursor
+     * - xmax: the next transaction id; a larger cursor was not issued by this database (or is a time cursor)
+     * - purgedXid: the newest purged delete of the user; a cursor at or below it may have missed deletes
+     */
+    @Query(value = "SELECT pg_snapshot_xmin(s)::text::bigint AS xmin, pg_snapshot_xmax(s)::text::bigint AS xmax, "
+            + "COALESCE((SELECT p.purged_xid FROM sync_purges p WHERE p.user_id = :userId), 0) AS \"purgedXid\" "
+            + "FROM pg_current_snapshot() s",
+            nativeQuery = true)
+    SyncSnapshot currentSyncSnapshot(@Param("userId") Long userId);
+
+    /**
+     * Record the delete of a folder subtree in one statement: its folders, and the notes and documents in them
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tombstones (user_id, entity_type, entity_id, deleted_at) "
+            + "SELECT :userId, 'folder', c.descendant_id, :now FROM folder_closure c WHERE c.ancestor_id = :folderId "
+            + "UNION ALL SELECT :userId, 'note', n.id, :now FROM notes n "
+            + "JOIN folder_closure c ON c.descendant_id = n.folder_id WHERE c.ancestor_id = :folderId "
+            + "UNION ALL SELECT :userId, 'document', d.id, :now FROM documents d "
+            + "JOIN folder_closure c ON c.descendant_id = d.folder_id WHERE c.ancestor_id = :folderId",
+            nativeQuery = true)
+    void insertForFolderSubtree(@Param("userId") Long userId, @Param("folderId") Long folderId,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Remove all tombstones of a user (account deletion)
+     */
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.user = :user")
+    void deleteByUser(@Param("user") User user);
+
+    /**
+     * Purge tombstones older than the retention window, remembering per user the newest purged one
+     * (sync_purges), so clients with an older cursor get a full resync
+     */
+    @Modifying
+    @Query(value = "WITH purged AS (DELETE FROM tombstones WHERE deleted_at < :cutoff RETURNING user_id, change_xid) "
+            + "INSERT INTO sync_purges (user_id, purged_xid) "
+            + "SELECT user_id, MAX(change_xid) FROM purged GROUP BY user_id "
+            + "ON CONFLICT (user_id) DO UPDATE SET purged_xid = GREATEST(sync_purges.purged_xid, EXCLUDED.purged_xid)",
+            nativeQuery = true)
+    void purgeOlderThan(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * See {@link #currentSyncSnapshot}
+     */
+    interface SyncSnapshot {
+        long getXmin();
+
+        long getXmax();
+
+        long getPurgedXid();
+    }
+}
@@ -0,0 +1,58 @@
+package com.lite.lite_backend.repository;
+
+import com.lite.lite_backend.entity.UserCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserCounterRepository extends JpaRepository<UserCounter, Long> {
+
+    /**
+     * Find all counters of a user (one small row per status / item type)
+     */
+    List<UserCounter> findByUserId(Long userId);
+
+    /**
+     * Add a delta to a counter, creating it when missing (single statement, row-locked until commit)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_counters (user_id, counter_name, counter_value) VALUES (:userId, :name, :delta) "
+            + "ON CONFLICT (user_id, counter_name) DO UPDATE SET counter_value = user_counters.counter_value + EXCLUDED.counter_value",
+            nativeQuery = true)
+    void add(@Param("userId") Long userId, @Param("name") String name, @Param("delta") long delta);
+
+    /**
+     * Overwrite a counter, creating it when missing (reconciliation)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_counters (user_id, counter_name, counter_value) VALUES (:userId, :name, :value) "
+            + "ON CONFLICT (user_id, counter_name) DO UPDATE SET counter_value = EXCLUDED.counter_value",
+            nativeQuery = true)
+    void set(@Param("userId") Long userId, @Param("name") String name, @Param("value") long value);
+
+    /**
+     * Lock the counters of a user until the end of the transaction, so in-flight writers finish first
+     */
+    @Query(value = "SELECT id FROM user_counters WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+    List<Long> lockByUserId(@Param("userId") Long userId);
+
+    /**
+     * Remove counters of a user that are not listed (statuses that no longer exist)
+     */
+    @Modifying
+    @Query("DELETE FROM UserCounter c WHERE c.user.id = :userId AND c.name NOT IN :names")
+    void deleteByUserIdAndNameNotIn(@Param("userId") Long userId, @Param("names") Collection<String> names);
+
+    /**
+     * Remove all counters of a user (account deletion)
+     */
+    @Modifying
+    @Query("DELETE FROM UserCounter c WHERE c.user.id = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -1,9 +1,14 @@
 package com.lite.lite_backend.repository;
 
 import com.lite.lite_backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +22,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return an Optional containing the user if found, or empty if not found
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Check whether an email is already registered without loading the user.
+     *
+     * @param email the email to check
+     * @return true if a user with this email exists
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     * Page through user ids in order (keyset pagination, for background jobs)
+     *
+     * @param afterId the last id of the previous page, or 0
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Replace a user's password hash in one statement (no load or merge of the user)
+     *
+     * @param id       the user's id
+     * @param password the new password hash
+     */
+    @Modifying
+    @Query(value = "UPDATE users SET password = :password WHERE id = :id", nativeQuery = true)
+    void updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,811 @@
+package com.lite.lite_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.lite.lite_backend.dto.AccountImportResultDTO;
+import com.lite.lite_backend.dto.DocumentDTO;
+import com.lite.lite_backend.dto.ImportResultDTO;
+import com.lite.lite_backend.dto.TaskDTO;
+import com.lite.lite_backend.entity.Folder;
+import com.lite.lite_backend.entity.Note;
+import com.lite.lite_backend.entity.TaskStatus;
+import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.event.ChangeEvent;
+import com.lite.lite_backend.repository.DocumentRepository;
+import com.lite.lite_backend.repository.FolderRepository;
+import com.lite.lite_backend.repository.NoteRepository;
+import com.lite.lite_backend.repository.NoteVersionRepository;
+import com.lite.lite_backend.repository.TaskRepository;
+import com.lite.lite_backend.util.DataVersionRegistry;
+import com.lite.lite_backend.util.SequenceIdAllocator;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Full account backup as a ZIP archive, and the matching restore.
+ *
+ * Archive layout (entries are written in this order, and the import relies on it):
+ * - manifest.json: format name and version
+ * - folders.json: the folder tree, parents before children
+ * - notes/{folder path}/{title} ({id}).md: one Markdown file per note, with a small front matter
+ * - note-versions.json: version history of all notes
+ * - documents.json: document references (the files stay where they were uploaded)
+ * - tasks.json, job-applications.json
+ *
+ * Both directions stream: rows are read from the database (or the upload) and written out one by one.
+ * Only ids are kept between entries (folder paths on export; old-to-new folder and note ids on import).
+ */
+@Service
+public class AccountArchiveService {
+
+    static final String FORMAT = "lite-account";
+    static final int FORMAT_VERSION = 1;
+
+    private static final String MANIFEST = "manifest.json";
+    private static final String FOLDERS = "folders.json";
+    private static final String NOTES_DIR = "notes/";
+    private static final String NOTE_VERSIONS = "note-versions.json";
+    private static final String DOCUMENTS = "documents.json";
+    private static final String TASKS = "tasks.json";
+    private static final String JOB_APPLICATIONS = "job-applications.json";
+
+    // Pending rows are flushed when either limit is reached, so large notes cannot pile up in memory
+    private static final int CHUNK_SIZE = 500;
+    private static final int CHUNK_MAX_CHARS = 4 * 1024 * 1024;
+
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * One folder in folders.json
+     */
+    record FolderEntry(Long id, String name, Long parentFolderId) {
+    }
+
+    /**
+     * One version in note-versions.json
+     */
+    record NoteVersionEntry(Long noteId, Integer versionNumber, String title, String content,
+            LocalDateTime createdAt) {
+    }
+
+    private final FolderRepository folderRepository;
+    private final NoteRepository noteRepository;
+    private final NoteVersionRepository noteVersionRepository;
+    private final DocumentRepository documentRepository;
+    private final TaskRepository taskRepository;
+    private final JobApplicationTransferService jobApplicationTransferService;
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+    private final EntityManager entityManager;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final KnowledgeBaseTreeCache treeCache;
+    private final FolderHierarchyService folderHierarchy;
+    private final DashboardCounterService dashboardCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AccountArchiveService(FolderRepository folderRepository,
+            NoteRepository noteRepository,
+            NoteVersionRepository noteVersionRepository,
+            DocumentRepository documentRepository,
+            TaskRepository taskRepository,
+            JobApplicationTransferService jobApplicationTransferService,
+            JdbcTemplate jdbcTemplate,
+            SequenceIdAllocator idAllocator,
+            EntityManager entityManager,
+            DataVersionRegistry dataVersionRegistry,
+            KnowledgeBaseTreeCache treeCache,
+            FolderHierarchyService folderHierarchy,
+            DashboardCounterService dashboardCounters,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.folderRepository = folderRepository;
+        this.noteRepository = noteRepository;
+        this.noteVersionRepository = noteVersionRepository;
+        this.documentRepository = documentRepository;
+        this.taskRepository = taskRepository;
+        this.jobApplicationTransferService = jobApplicationTransferService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.entityManager = entityManager;
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.treeCache = treeCache;
+        this.folderHierarchy = folderHierarchy;
+        this.dashboardCounters = dashboardCounters;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Get the currently logged-in user
+     */
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (User) authentication.getPrincipal();
+    }
+
+    // ============================================
+    // Export
+    // ============================================
+
+    /**
+     * Export the whole account of the logged-in user.
+     * The user is resolved now; the archive is built while the response is streamed.
+     */
+    public StreamingResponseBody exportAccount() {
+        User currentUser = getCurrentUser();
+        StreamingResponseBody jobApplications =
+                jobApplicationTransferService.exportJobApplications(JobApplicationTransferService.Format.JSON);
+
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+                writeAccount(currentUser, zip, jobApplications);
+                // Finish (not close): the servlet container owns the response stream
+                zip.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeAccount(User user, ZipOutputStream zip, StreamingResponseBody jobApplications)
+            throws IOException {
+        OutputStream entryOut = StreamUtils.nonClosing(zip);
+
+        zip.putNextEntry(new ZipEntry(MANIFEST));
+        objectMapper.writeValue(entryOut, Map.of(
+                "format", FORMAT,
+                "version", FORMAT_VERSION,
+                "exportedAt", LocalDateTime.now().toString()));
+        zip.closeEntry();
+
+        // Folders are few and small: load them once to know every note's path
+        List<Folder> folders = folderRepository.findByUser(user);
+        Map<Long, String> folderPaths = folderPaths(folders);
+        List<FolderEntry> folderEntries = folders.stream()
+                .sorted(Comparator.comparingLong((Folder folder) -> depth(folderPaths.get(folder.getId())))
+                        .thenComparing(Folder::getId))
+                .map(folder -> new FolderEntry(folder.getId(), folder.getName(),
+                        folder.getParentFolder() != null ? folder.getParentFolder().getId() : null))
+                .collect(Collectors.toList());
+        entityManager.clear();
+
+        zip.putNextEntry(new ZipEntry(FOLDERS));
+        objectMapper.writeValue(entryOut, folderEntries);
+        zip.closeEntry();
+
+        try (Stream<Object[]> notes = noteRepository.streamWithContentByUser(user)) {
+            Iterator<Object[]> iterator = notes.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                Note note = (Note) row[0];
+                Long folderId = note.getFolder() != null ? note.getFolder().getId() : null;
+                String directory = folderId != null && folderPaths.containsKey(folderId)
+                        ? NOTES_DIR + folderPaths.get(folderId) + "/"
+                        : NOTES_DIR;
+
+                zip.putNextEntry(new ZipEntry(directory + safeName(note.getTitle()) + " (" + note.getId() + ").md"));
+                zip.write(toMarkdown(note, (String) row[1], folderId).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+                entityManager.detach(note);
+            }
+        }
+
+        writeJsonArray(zip, NOTE_VERSIONS, noteVersionRepository.streamByUser(user),
+                version -> new NoteVersionEntry(version.getNote().getId(), version.getVersionNumber(),
+                        version.getTitle(), version.getContent(), version.getCreatedAt()));
+
+        writeJsonArray(zip, DOCUMENTS, documentRepository.streamByUser(user), doc -> {
+            DocumentDTO dto = new DocumentDTO();
+            dto.setId(doc.getId());
+            dto.setFileName(doc.getFileName());
+            dto.setDocumentUrl(doc.getDocumentUrl());
+            dto.setFolderId(doc.getFolder() != null ? doc.getFolder().getId() : null);
+            return dto;
+        });
+
+        writeJsonArray(zip, TASKS, taskRepository.streamByUser(user),
+                task -> new TaskDTO(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                        task.getPosition(), task.getDueDate(), task.getCreatedAt(), task.getUpdatedAt()));
+
+        zip.putNextEntry(new ZipEntry(JOB_APPLICATIONS));
+        jobApplications.writeTo(entryOut);
+        zip.closeEntry();
+    }
+
+    /**
+     * Write one JSON array entry, converting and detaching the entities one at a time
+     */
+    private <E> void writeJsonArray(ZipOutputStream zip, String name, Stream<E> rows, Function<E, ?> converter)
+            throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        try (rows; SequenceWriter writer = objectMapper.writer().writeValuesAsArray(StreamUtils.nonClosing(zip))) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                E row = iterator.next();
+                writer.write(converter.apply(row));
+                entityManager.detach(row);
+            }
+        }
+        zip.closeEntry();
+    }
+
+    /**
+     * Build the archive path of every folder, e.g. "Work/Projects"
+     */
+    private Map<Long, String> folderPaths(List<Folder> folders) {
+        Map<Long, Folder> foldersById = folders.stream()
+                .collect(Collectors.toMap(Folder::getId, Function.identity()));
+        Map<Long, String> paths = new HashMap<>();
+        folders.forEach(folder -> resolvePath(folder, foldersById, paths));
+        return paths;
+    }
+
+    private String resolvePath(Folder folder, Map<Long, Folder> foldersById, Map<Long, String> paths) {
+        String path = paths.get(folder.getId());
+        if (path != null) {
+            return path;
+        }
+        Folder parent = folder.getParentFolder() != null ? foldersById.get(folder.getParentFolder().getId()) : null;
+        path = parent != null
+                ? resolvePath(parent, foldersById, paths) + "/" + safeName(folder.getName())
+                : safeName(folder.getName());
+        paths.put(folder.getId(), path);
+        return path;
+    }
+
+    private long depth(String path) {
+        return path.chars().filter(c -> c == '/').count();
+    }
+
+    /**
+     * Make a title usable as a file or directory name inside the archive
+     */
+    private String safeName(String name) {
+        String safe = name == null ? "" : name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        if (safe.isEmpty() || safe.equals(".") || safe.equals("..")) {
+            return "Untitled";
+        }
+        return safe.length() > MAX_NAME_LENGTH ? safe.substring(0, MAX_NAME_LENGTH) : safe;
+    }
+
+    /**
+     * Render a note as Markdown with a front matter holding what the import needs
+     */
+    private String toMarkdown(Note note, String content, Long folderId) throws JsonProcessingException {
+        StringBuilder markdown = new StringBuilder("---\n");
+        markdown.append("id: ").append(note.getId()).append('\n');
+        markdown.append("title: ").append(objectMapper.writeValueAsString(note.getTitle())).append('\n');
+        if (folderId != null) {
+            markdown.append("folderId: ").append(folderId).append('\n');
+        }
+        if (note.getCreatedAt() != null) {
+            markdown.append("createdAt: ").append(note.getCreatedAt()).append('\n');
+        }
+        if (note.getUpdatedAt() != null) {
+            markdown.append("updatedAt: ").append(note.getUpdatedAt()).append('\n');
+        }
+        markdown.append("---\n");
+        if (content != null) {
+            markdown.append(content);
+        }
+        return markdown.toString();
+    }
+
+    // ============================================
+    // Import
+    // ============================================
+
+    /**
+     * Import an archive produced by {@link #exportAccount()} into the logged-in user's account
+     * - Everything is added next to the existing data (nothing is overwritten)
+     * - Imported tasks are appended to the end of their columns
+     * - Document files are not copied, the references point to the original uploads; only files
+     *   the account already references are kept (the same goes for CV links), others are reported
+     * - Rows that cannot be read (e.g. an unknown task status) are skipped and reported
+     * - The whole import is one transaction: a malformed archive leaves the account untouched
+     */
+    @Transactional
+    public AccountImportResultDTO importAccount(InputStream in) throws IOException {
+        User currentUser = getCurrentUser();
+        Importer importer = new Importer(currentUser);
+
+        try {
+            ZipInputStream zip = new ZipInputStream(in, StandardCharsets.UTF_8);
+            InputStream entryIn = StreamUtils.nonClosing(zip);
+
+            ZipEntry entry = zip.getNextEntry();
+            if (entry == null || !entry.getName().equals(MANIFEST)) {
+                throw new IllegalArgumentException("Not an account archive: " + MANIFEST + " must come first");
+            }
+            checkManifest(entryIn);
+
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (name.equals(FOLDERS)) {
+                    importer.importFolders(entryIn);
+                } else if (name.startsWith(NOTES_DIR) && name.endsWith(".md")) {
+                    importer.addNote(new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+                } else if (name.equals(NOTE_VERSIONS)) {
+                    importer.importNoteVersions(entryIn);
+                } else if (name.equals(DOCUMENTS)) {
+                    importer.importDocuments(entryIn);
+                } else if (name.equals(TASKS)) {
+                    importer.importTasks(entryIn);
+                } else if (name.equals(JOB_APPLICATIONS)) {
+                    importer.importJobApplications(entryIn);
+                }
+                // Unknown entries (e.g. added by an archiver) are ignored
+            }
+            importer.flushNotes();
+        } catch (ZipException e) {
+            throw new IllegalArgumentException("Malformed archive: " + e.getMessage());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed archive: " + e.getOriginalMessage());
+        }
+
+        Long userId = currentUser.getId();
+        // Folders were inserted with plain SQL: add them to the hierarchy index in one go
+        folderHierarchy.indexNewFolders(userId);
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.KNOWLEDGE_BASE, userId);
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.TASKS, userId);
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.JOBS, userId);
+        treeCache.invalidate(userId);
+        dashboardCounters.recount(currentUser);
+        eventPublisher.publishEvent(new ChangeEvent(userId, "account.imported", null));
+        return importer.result;
+    }
+
+    private void checkManifest(InputStream in) throws IOException {
+        Map<?, ?> manifest = objectMapper.readValue(in, Map.class);
+        if (!FORMAT.equals(manifest.get("format"))) {
+            throw new IllegalArgumentException("Not an account archive");
+        }
+        if (!(manifest.get("version") instanceof Integer version) || version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported archive version: " + manifest.get("version"));
+        }
+    }
+
+    /**
+     * Sets the parameters of one row, given the id reserved for it
+     */
+    @FunctionalInterface
+    private interface RowSetter<T> {
+        void setValues(PreparedStatement ps, T row, long id) throws SQLException;
+    }
+
+    /**
+     * State of one import: the old-to-new id mappings and the rows waiting for the next batch
+     */
+    private class Importer {
+
+        private final User user;
+        private final AccountImportResultDTO result = new AccountImportResultDTO();
+        private final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        private final Map<Long, Long> folderIds = new HashMap<>();
+        private final Map<Long, Long> noteIds = new HashMap<>();
+
+        private final List<FolderEntry> pendingFolders = new ArrayList<>();
+        private final Set<Long> pendingFolderIds = new HashSet<>();
+        private final List<ParsedNote> pendingNotes = new ArrayList<>();
+        private int pendingNoteChars;
+
+        Importer(User user) {
+            this.user = user;
+        }
+
+        // ---------- Folders ----------
+
+        void importFolders(InputStream in) throws IOException {
+            try (MappingIterator<FolderEntry> folders = objectMapper.readerFor(FolderEntry.class).readValues(in)) {
+                while (folders.hasNextValue()) {
+                    FolderEntry folder = folders.nextValue();
+                    if (folder.id() == null) {
+                        result.setSkipped(result.getSkipped() + 1);
+                        continue;
+                    }
+                    // A child needs its parent's new id: flush first if the parent is still pending
+                    if (folder.parentFolderId() != null && pendingFolderIds.contains(folder.parentFolderId())) {
+                        flushFolders();
+                    }
+                    pendingFolders.add(folder);
+                    pendingFolderIds.add(folder.id());
+                    if (pendingFolders.size() == CHUNK_SIZE) {
+                        flushFolders();
+                    }
+                }
+            }
+            flushFolders();
+        }
+
+        private void flushFolders() {
+            if (pendingFolders.isEmpty()) {
+                return;
+            }
+            List<Long> ids = insertWithIds("folders_seq",
+                    "INSERT INTO folders (name, user_id, parent_folder_id, updated_at, id) VALUES (?, ?, ?, ?, ?)",
+                    pendingFolders, (ps, folder, id) -> {
+                        ps.setString(1, truncate(isBlank(folder.name()) ? "Untitled" : folder.name(), 255));
+                        ps.setLong(2, user.getId());
+                        // A parent missing from the archive turns the folder into a root folder
+                        setNullableLong(ps, 3, folder.parentFolderId() != null
+                                ? folderIds.get(folder.parentFolderId())
+                                : null);
+                        ps.setTimestamp(4, now);
+                        ps.setLong(5, id);
+                    });
+            for (int i = 0; i < ids.size(); i++) {
+                folderIds.put(pendingFolders.get(i).id(), ids.get(i));
+            }
+            result.setFolders(result.getFolders() + ids.size());
+            pendingFolders.clear();
+            pendingFolderIds.clear();
+        }
+
+        // ---------- Notes ----------
+
+        void addNote(String markdown) {
+            ParsedNote note = parseMarkdown(markdown);
+            if (note == null) {
+                result.setSkipped(result.getSkipped() + 1);
+                return;
+            }
+            pendingNotes.add(note);
+            pendingNoteChars += note.content != null ? note.content.length() : 0;
+            if (pendingNotes.size() == CHUNK_SIZE || pendingNoteChars >= CHUNK_MAX_CHARS) {
+                flushNotes();
+            }
+        }
+
+        void flushNotes() {
+            if (pendingNotes.isEmpty()) {
+                return;
+            }
+            List<Long> ids = insertWithIds("notes_seq",
+                    "INSERT INTO notes (title, user_id, folder_id, created_at, updated_at, id) VALUES (?, ?, ?, ?, ?, ?)",
+                    pendingNotes, (ps, note, id) -> {
+                        ps.setString(1, truncate(note.title, 255));
+                        ps.setLong(2, user.getId());
+                        setNullableLong(ps, 3, note.folderId != null ? folderIds.get(note.folderId) : null);
+                        ps.setTimestamp(4, note.createdAt != null ? Timestamp.valueOf(note.createdAt) : now);
+                        ps.setTimestamp(5, now);
+                        ps.setLong(6, id);
+                    });
+            List<Object[]> contents = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                contents.add(new Object[] { ids.get(i), pendingNotes.get(i).content });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO note_contents (note_id, content) VALUES (?, ?)", contents);
+            for (int i = 0; i < ids.size(); i++) {
+                if (pendingNotes.get(i).id != null) {
+                    noteIds.put(pendingNotes.get(i).id, ids.get(i));
+                }
+            }
+            result.setNotes(result.getNotes() + ids.size());
+            pendingNotes.clear();
+            pendingNoteChars = 0;
+        }
+
+        // ---------- Note versions ----------
+
+        void importNoteVersions(InputStream in) throws IOException {
+            // Versions reference notes by their old id, so every note must have its new id by now
+            flushNotes();
+
+            List<NoteVersionEntry> chunk = new ArrayList<>();
+            int chunkChars = 0;
+            try (MappingIterator<NoteVersionEntry> versions =
+                    objectMapper.readerFor(NoteVersionEntry.class).readValues(in)) {
+                while (versions.hasNextValue()) {
+                    NoteVersionEntry version = versions.nextValue();
+                    if (version.noteId() == null || !noteIds.containsKey(version.noteId())
+                            || isBlank(version.title())) {
+                        result.setSkipped(result.getSkipped() + 1);
+                        continue;
+                    }
+                    chunk.add(version);
+                    chunkChars += version.content() != null ? version.content().length() : 0;
+                    if (chunk.size() == CHUNK_SIZE || chunkChars >= CHUNK_MAX_CHARS) {
+                        insertNoteVersions(chunk);
+                        chunk.clear();
+                        chunkChars = 0;
+                    }
+                }
+            }
+            insertNoteVersions(chunk);
+        }
+
+        private void insertNoteVersions(List<NoteVersionEntry> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            insertWithIds("note_versions_seq",
+                    "INSERT INTO note_versions (note_id, title, content, created_at, version_number, id) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)",
+                    chunk, (ps, version, id) -> {
+                        ps.setLong(1, noteIds.get(version.noteId()));
+                        ps.setString(2, truncate(version.title(), 255));
+                        ps.setString(3, version.content());
+                        ps.setTimestamp(4, version.createdAt() != null ? Timestamp.valueOf(version.createdAt()) : now);
+                        if (version.versionNumber() != null) {
+                            ps.setInt(5, version.versionNumber());
+                        } else {
+                            ps.setNull(5, Types.INTEGER);
+                        }
+                        ps.setLong(6, id);
+                    });
+            result.setNoteVersions(result.getNoteVersions() + chunk.size());
+        }
+
+        // ---------- Documents ----------
+
+        void importDocuments(InputStream in) throws IOException {
+            List<DocumentDTO> chunk = new ArrayList<>();
+            try (MappingIterator<DocumentDTO> documents = objectMapper.readerFor(DocumentDTO.class).readValues(in)) {
+                while (documents.hasNextValue()) {
+                    DocumentDTO document = documents.nextValue();
+                    if (isBlank(document.getFileName()) || isBlank(document.getDocumentUrl())) {
+                        result.setSkipped(result.getSkipped() + 1);
+                        continue;
+                    }
+                    chunk.add(document);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        insertDocuments(chunk);
+                        chunk.clear();
+                    }
+                }
+            }
+            insertDocuments(chunk);
+        }
+
+        private void insertDocuments(List<DocumentDTO> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            // An archive can name any URL: never let it claim another user's upload
+            Set<String> ownedUrls = new HashSet<>(documentRepository.findOwnedFileUrls(user.getId(),
+                    chunk.stream().map(DocumentDTO::getDocumentUrl).collect(Collectors.toSet())));
+            List<DocumentDTO> owned = new ArrayList<>(chunk.size());
+            for (DocumentDTO document : chunk) {
+                if (ownedUrls.contains(document.getDocumentUrl())) {
+                    owned.add(document);
+                } else {
+                    reject(DOCUMENTS, "\"" + document.getFileName() + "\": the file does not belong to this account");
+                }
+            }
+            if (owned.isEmpty()) {
+                return;
+            }
+            insertWithIds("documents_seq",
+                    "INSERT INTO documents (file_name, document_url, user_id, folder_id, created_at, updated_at, id) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    owned, (ps, document, id) -> {
+                        ps.setString(1, truncate(document.getFileName(), 255));
+                        ps.setString(2, truncate(document.getDocumentUrl(), 255));
+                        ps.setLong(3, user.getId());
+                        setNullableLong(ps, 4, document.getFolderId() != null
+                                ? folderIds.get(document.getFolderId())
+                                : null);
+                        ps.setTimestamp(5, now);
+                        ps.setTimestamp(6, now);
+                        ps.setLong(7, id);
+                    });
+            result.setDocuments(result.getDocuments() + owned.size());
+        }
+
+        // ---------- Tasks ----------
+
+        void importTasks(InputStream in) throws IOException {
+            // Append to the end of each column; tasks arrive sorted by column and position
+            Map<TaskStatus, Integer> nextPositions = new HashMap<>();
+            jdbcTemplate.query("SELECT status, MAX(position) FROM tasks WHERE user_id = ? GROUP BY status",
+                    rs -> {
+                        nextPositions.put(TaskStatus.fromCode(rs.getShort(1)), rs.getInt(2) + 1);
+                    },
+                    user.getId());
+
+            List<TaskDTO> chunk = new ArrayList<>();
+            try (MappingIterator<TaskDTO> tasks = objectMapper.readerFor(TaskDTO.class).readValues(in)) {
+                int row = 0;
+                while (tasks.hasNextValue()) {
+                    row++;
+                    TaskDTO task;
+                    try {
+                        task = tasks.nextValue();
+                    } catch (JsonMappingException e) {
+                        // Wrong value (e.g. an unknown status); the iterator skips to the next row
+                        reject(TASKS + " row " + row, e.getOriginalMessage());
+                        continue;
+                    }
+                    if (isBlank(task.getTitle()) || task.getStatus() == null) {
+                        reject(TASKS + " row " + row, "title and status are required");
+                        continue;
+                    }
+                    task.setPosition(nextPositions.merge(task.getStatus(), 1, Integer::sum) - 1);
+                    chunk.add(task);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        insertTasks(chunk);
+                        chunk.clear();
+                    }
+                }
+            }
+            insertTasks(chunk);
+        }
+
+        private void insertTasks(List<TaskDTO> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            insertWithIds("tasks_seq",
+                    "INSERT INTO tasks (title, description, status, position, due_date, created_at, updated_at, user_id, id) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    chunk, (ps, task, id) -> {
+                        ps.setString(1, truncate(task.getTitle(), 255));
+                        ps.setString(2, task.getDescription());
+                        ps.setShort(3, task.getStatus().getCode());
+                        ps.setInt(4, task.getPosition());
+                        ps.setTimestamp(5, task.getDueDate() != null ? Timestamp.valueOf(task.getDueDate()) : null);
+                        ps.setTimestamp(6, task.getCreatedAt() != null ? Timestamp.valueOf(task.getCreatedAt()) : now);
+                        ps.setTimestamp(7, now);
+                        ps.setLong(8, user.getId());
+                        ps.setLong(9, id);
+                    });
+            result.setTasks(result.getTasks() + chunk.size());
+        }
+
+        // ---------- Job applications ----------
+
+        void importJobApplications(InputStream in) throws IOException {
+            ImportResultDTO jobs = jobApplicationTransferService
+                    .importJobApplications(JobApplicationTransferService.Format.JSON, in);
+            result.setJobApplications(result.getJobApplications() + jobs.getImported());
+            result.setSkipped(result.getSkipped() + jobs.getSkipped());
+            jobs.getErrors().forEach(error -> report(JOB_APPLICATIONS + " " + error));
+        }
+
+        // ---------- Helpers ----------
+
+        private void reject(String where, String error) {
+            result.setSkipped(result.getSkipped() + 1);
+            report(where + ": " + error);
+        }
+
+        private void report(String error) {
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(error);
+            }
+        }
+
+        /**
+         * Parse a note file written by {@link #toMarkdown(Note, String, Long)}
+         *
+         * @return the note, or null when the front matter is missing or has no title
+         */
+        private ParsedNote parseMarkdown(String markdown) {
+            if (!markdown.startsWith("---\n")) {
+                return null;
+            }
+            int end = markdown.indexOf("\n---\n", 3);
+            if (end < 0) {
+                return null;
+            }
+
+            ParsedNote note = new ParsedNote();
+            try {
+                for (String line : markdown.substring(4, end).split("\n")) {
+                    int colon = line.indexOf(": ");
+                    if (colon < 0) {
+                        continue;
+                    }
+                    String value = line.substring(colon + 2).trim();
+                    switch (line.substring(0, colon)) {
+                        case "id" -> note.id = Long.valueOf(value);
+                        case "title" -> note.title = objectMapper.readValue(value, String.class);
+                        case "folderId" -> note.folderId = Long.valueOf(value);
+                        case "createdAt" -> note.createdAt = LocalDateTime.parse(value);
+                        default -> {
+                            // updatedAt and unknown keys: the import is a new change, so updatedAt is now
+                        }
+                    }
+                }
+            } catch (RuntimeException | JsonProcessingException e) {
+                return null;
+            }
+            if (isBlank(note.title)) {
+                return null;
+            }
+
+            String content = markdown.substring(end + 5);
+            note.content = content.isEmpty() ? null : content;
+            return note;
+        }
+
+        /**
+         * Insert rows with one JDBC batch, with ids reserved from the table's sequence
+         *
+         * @return the new ids, in row order
+         */
+        private <T> List<Long> insertWithIds(String sequence, String sql, List<T> rows, RowSetter<T> setter) {
+            List<Long> ids = idAllocator.allocate(sequence, rows.size());
+            Iterator<Long> nextId = ids.iterator();
+            jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> setter.setValues(ps, row, nextId.next()));
+            return ids;
+        }
+    }
+
+    /**
+     * A note read back from its Markdown file
+     */
+    private static class ParsedNote {
+        private Long id;
+        private String title;
+        private String content;
+        private Long folderId;
+        private LocalDateTime createdAt;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.dto.AnalyticsSummaryDTO;
+import com.lite.lite_backend.dto.JobAnalyticsDTO;
+import com.lite.lite_backend.dto.ResponseRateDTO;
+import com.lite.lite_backend.dto.TaskAnalyticsDTO;
+import com.lite.lite_backend.dto.WeeklyCountDTO;
+import com.lite.lite_backend.entity.JobStatus;
+import com.lite.lite_backend.entity.TaskStatus;
+import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.repository.DocumentRepository;
+import com.lite.lite_backend.repository.FolderRepository;
+import com.lite.lite_backend.repository.JobApplicationRepository;
+import com.lite.lite_backend.repository.NoteRepository;
+import com.lite.lite_backend.repository.TaskRepository;
+import com.lite.lite_backend.util.DataVersionRegistry;
+import com.lite.lite_backend.util.UserDataCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates for the Analytics page, computed with GROUP BY queries instead of
+ * shipping every job and task to the browser.
+ * Results are cached per user and dropped on the next write to the data set.
+ * Weekly series depend on today's date, so it is part of their cache key: a new day starts new entries.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    // Job statuses meaning "no answer yet"; every other status counts as a response
+    private static final List<JobStatus> WAITING_STATUSES = List.of(JobStatus.SUBMITTED, JobStatus.AWAITING_RESPONSE);
+    private static final int MAX_WEEKS = 104;
+
+    private final JobApplicationRepository jobApplicationRepository;
+    private final TaskRepository taskRepository;
+    private final NoteRepository noteRepository;
+    private final DocumentRepository documentRepository;
+    private final FolderRepository folderRepository;
+    private final UserDataCache userDataCache;
+
+    /**
+     * Get the currently logged-in user
+     */
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (User) authentication.getPrincipal();
+    }
+
+    /**
+     * Everything the Analytics page shows, in one response
+     */
+    public AnalyticsSummaryDTO getSummary(int weeks) {
+        User currentUser = getCurrentUser();
+        KnowledgeBaseCounts counts = userDataCache.get(DataVersionRegistry.Scope.KNOWLEDGE_BASE, currentUser.getId(),
+                "analytics:counts", () -> new KnowledgeBaseCounts(
+                        noteRepository.countByUser(currentUser),
+                        documentRepository.countByUser(currentUser),
+                        folderRepository.countByUser(currentUser)));
+        return new AnalyticsSummaryDTO(getJobAnalytics(weeks), getTaskAnalytics(weeks),
+                counts.notes(), counts.documents(), counts.folders());
+    }
+
+    /**
+     * Job application statistics
+     * - Count per status
+     * - Applications per week over the last {@code weeks} weeks
+     * - Response rate per way of applying
+     */
+    public JobAnalyticsDTO getJobAnalytics(int weeks) {
+        User currentUser = getCurrentUser();
+        int range = clampWeeks(weeks);
+        LocalDate today = LocalDate.now();
+        return userDataCache.get(DataVersionRegistry.Scope.JOBS, currentUser.getId(),
+                "analytics:" + range + ":" + today, () -> {
+            JobAnalyticsDTO dto = new JobAnalyticsDTO();
+            for (Object[] row : jobApplicationRepository.countByStatus(currentUser)) {
+                long count = ((Number) row[1]).longValue();
+                dto.getByStatus().put(((JobStatus) row[0]).getLabel(), count);
+                dto.setTotal(dto.getTotal() + count);
+            }
+
+            LocalDate firstWeek = weekStart(today).minusWeeks(range - 1);
+            dto.setApplicationsPerWeek(fillWeeks(firstWeek, today,
+                    jobApplicationRepository.countPerWeek(currentUser.getId(), firstWeek)));
+
+            for (Object[] row : jobApplicationRepository.countResponsesByWayOfApplying(currentUser, WAITING_STATUSES)) {
+                long applications = ((Number) row[1]).longValue();
+                long responses = row[2] != null ? ((Number) row[2]).longValue() : 0;
+                dto.getResponseRates().add(new ResponseRateDTO((String) row[0], applications, responses,
+                        applications > 0 ? (double) responses / applications : 0));
+            }
+            dto.getResponseRates().sort(Comparator.comparingLong(ResponseRateDTO::getApplications).reversed());
+            return dto;
+        });
+    }
+
+    /**
+     * Task statistics
+     * - Count per status
+     * - Tasks completed per week over the last {@code weeks} weeks
+     *   (by the last change of DONE tasks; editing a done task moves it to the current week)
+     * - Overdue tasks (counted on every call: tasks become overdue without any write)
+     */
+    public TaskAnalyticsDTO getTaskAnalytics(int weeks) {
+        User currentUser = getCurrentUser();
+        int range = clampWeeks(weeks);
+        LocalDate today = LocalDate.now();
+        TaskAnalyticsDTO cached = userDataCache.get(DataVersionRegistry.Scope.TASKS, currentUser.getId(),
+                "analytics:" + range + ":" + today, () -> {
+            TaskAnalyticsDTO dto = new TaskAnalyticsDTO();
+            for (Object[] row : taskRepository.countByStatus(currentUser)) {
+                long count = ((Number) row[1]).longValue();
+                dto.getByStatus().put(((TaskStatus) row[0]).getLabel(), count);
+                dto.setTotal(dto.getTotal() + count);
+            }
+
+            LocalDate firstWeek = weekStart(today).minusWeeks(range - 1);
+            dto.setCompletedPerWeek(fillWeeks(firstWeek, today, taskRepository.countPerWeekByStatus(
+                    currentUser.getId(), TaskStatus.DONE.getCode(), firstWeek.atStartOfDay())));
+            return dto;
+        });
+
+        // Cached values are shared: answer with a copy
+        TaskAnalyticsDTO dto = new TaskAnalyticsDTO();
+        dto.setTotal(cached.getTotal());
+        dto.setByStatus(cached.getByStatus());
+        dto.setCompletedPerWeek(cached.getCompletedPerWeek());
+        dto.setOverdue(taskRepository.countOverdue(currentUser, TaskStatus.DONE, LocalDateTime.now()));
+        return dto;
+    }
+
+    private int clampWeeks(int weeks) {
+        return Math.max(1, Math.min(weeks, MAX_WEEKS));
+    }
+
+    private LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Turn [week start, count] rows into one entry per week up to the week of {@code today}, with zeros for empty weeks
+     */
+    private List<WeeklyCountDTO> fillWeeks(LocalDate firstWeek, LocalDate today, List<Object[]> rows) {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            LocalDate week = row[0] instanceof Date date ? date.toLocalDate() : (LocalDate) row[0];
+            counts.put(week, ((Number) row[1]).longValue());
+        }
+
+        List<WeeklyCountDTO> weeks = new ArrayList<>();
+        LocalDate currentWeek = weekStart(today);
+        for (LocalDate week = firstWeek; !week.isAfter(currentWeek); week = week.plusWeeks(1)) {
+            weeks.add(new WeeklyCountDTO(week, counts.getOrDefault(week, 0L)));
+        }
+        return weeks;
+    }
+
+    private record KnowledgeBaseCounts(long notes, long documents, long folders) {
+    }
+}
@@ -4,12 +4,14 @@ import com.lite.lite_backend.dto.AuthResponse;
 import com.lite.lite_backend.dto.LoginRequest;
 import com.lite.lite_backend.dto.RegisterRequest;
 import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.exception.BadRequestException;
+import com.lite.lite_backend.exception.ConflictException;
 import com.lite.lite_backend.repository.UserRepository;
 import com.lite.lite_backend.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -21,19 +23,23 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
-    private final CustomUserDetailsService userDetailsService;
 
     /**
      * Register a new user
+     * - Check the required fields
      * - Check if email already exists
      * - Hash the password
      * - Save the user
      * - Generate and return a JWT token
      */
     public AuthResponse register(RegisterRequest request) {
-        // Check if user already exists
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new RuntimeException("Email already registered");
+        if (isBlank(request.getName()) || isBlank(request.getEmail()) || isBlank(request.getPassword())) {
+            throw new BadRequestException("Name, email and password are required");
+        }
+
+        // Check if user already exists (the only user read of the registration)
+        if (userRepository.existsByEmail(request.getEmail())) {
+            throw new ConflictException("Email already registered");
         }
 
         // Create new user
@@ -43,14 +49,13 @@ public class AuthService {
         user.setPassword(passwordEncoder.encode(request.getPassword()));
 
         // Save user to database
-        userRepository.save(user);
+        User savedUser = userRepository.save(user);
 
-        // Generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String token = jwtUtil.generateToken(userDetails);
+        // Generate JWT token (the saved user already is our UserDetails)
+        String token = jwtUtil.generateToken(savedUser);
 
         // Return response
-        return new AuthResponse(token, user.getName());
+        return new AuthResponse(token, savedUser.getName());
     }
 
     /**
@@ -60,7 +65,8 @@ public class AuthService {
      */
     public AuthResponse login(LoginRequest request) {
         // Authenticate the user (this will throw an exception if credentials are wrong)
-        authenticationManager.authenticate(
+        // The provider loads the user once; the authenticated principal is that same entity
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
                         request.getPassword()
@@ -68,15 +74,14 @@ public class AuthService {
         );
 
         // If we reach here, authentication was successful
-        // Load user details and generate token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getEmail());
-        String token = jwtUtil.generateToken(userDetails);
-
-        // Get user name from database
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = (User) authentication.getPrincipal();
+        String token = jwtUtil.generateToken(user);
 
         // Return response
         return new AuthResponse(token, user.getName());
     }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 }
@@ -0,0 +1,250 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.event.ChangeEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes change events to the user's open tabs over Server-Sent Events.
+ * - Each connection has a small bounded buffer, drained by a sender thread of its own (pooled,
+ *   created on demand), so a slow client never blocks the request that produced the event
+ *   nor the delivery to other clients
+ * - When a buffer overflows it is replaced by a single "resync" event:
+ *   the client should refetch instead of receiving an unbounded backlog
+ * - Heartbeats go through the same buffers and senders, so the scheduler never writes to a client
+ * - A connection whose send has been blocked longer than the send timeout is dropped: it gets no
+ *   more events, and its stream is completed once the blocked write returns (the container's write
+ *   timeout ends it; completing from another thread would wait on the emitter's write lock)
+ */
+@Service
+public class ChangeStreamService {
+
+    // Keep the stream open for 30 minutes; the client reconnects afterwards
+    private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000;
+    private static final int BUFFER_SIZE = 100;
+    private static final int MAX_CONNECTIONS_PER_USER = 5;
+    private static final long SEND_TIMEOUT_MS = 10_000;
+    // Upper bound of concurrent sends; beyond it new streams are dropped (the client reconnects)
+    private static final int MAX_SENDER_THREADS = 256;
+    private static final ChangeEvent RESYNC = new ChangeEvent(null, "resync", null);
+    // Marker in a buffer; sent as an SSE comment
+    private static final ChangeEvent HEARTBEAT = new ChangeEvent(null, "heartbeat", null);
+
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+
+    public ChangeStreamService() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(0, MAX_SENDER_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "change-stream-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Open a new stream for a user
+     */
+    public SseEmitter connect(Long userId) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        Connection connection = new Connection(userId, emitter);
+
+        List<Connection> userConnections = connections.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>());
+        userConnections.add(connection);
+
+        // Drop the oldest tab's stream when a user opens too many
+        while (userConnections.size() > MAX_CONNECTIONS_PER_USER) {
+            Connection oldest = userConnections.remove(0);
+            oldest.close();
+        }
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+        return emitter;
+    }
+
+    /**
+     * Forward a change event to all streams of its user once the change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        List<Connection> userConnections = connections.get(event.userId());
+        if (userConnections == null) {
+            return;
+        }
+        for (Connection connection : userConnections) {
+            connection.enqueue(event);
+        }
+    }
+
+    /**
+     * Keep idle streams alive through proxies and detect closed ones (every 25 seconds).
+     * Only queued: the sender pool writes them like any event.
+     */
+    @Scheduled(fixedRate = 25_000)
+    public void sendHeartbeats() {
+        connections.values().forEach(userConnections -> userConnections.forEach(Connection::enqueueHeartbeat));
+    }
+
+    /**
+     * Drop connections whose current send has been blocked longer than the send timeout (every 5 seconds)
+     */
+    @Scheduled(fixedRate = 5_000)
+    public void dropStalledConnections() {
+        long now = System.currentTimeMillis();
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> {
+            if (connection.isStalled(now)) {
+                remove(connection);
+                connection.close();
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    /**
+     * One open stream with its pending events
+     */
+    private class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<ChangeEvent> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        // Start of the send in progress, 0 when not sending
+        private volatile long sendStartedAt;
+        private volatile boolean closed;
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(ChangeEvent event) {
+            if (closed) {
+                return;
+            }
+            synchronized (buffer) {
+                if (!buffer.offer(event)) {
+                    // Too far behind: replace the backlog by a single resync hint
+                    buffer.clear();
+                    buffer.offer(RESYNC);
+                }
+            }
+            scheduleDrain();
+        }
+
+        void enqueueHeartbeat() {
+            if (closed) {
+                return;
+            }
+            synchronized (buffer) {
+                // Pending events keep the stream busy already; a heartbeat must never cause a resync
+                if (!buffer.isEmpty()) {
+                    return;
+                }
+                buffer.offer(HEARTBEAT);
+            }
+            scheduleDrain();
+        }
+
+        boolean isStalled(long now) {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && now - startedAt > SEND_TIMEOUT_MS;
+        }
+
+        /**
+         * Stop the stream: completed here when no send is in progress, otherwise by the sender once it returns
+         */
+        void close() {
+            closed = true;
+            if (draining.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Every sender is busy: drop this stream rather than queue behind slow clients
+                    draining.set(false);
+                    remove(this);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                ChangeEvent event;
+                while (!closed && (event = poll()) != null) {
+                    sendStartedAt = System.currentTimeMillis();
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .name(event.type())
+                                .data(Map.of("type", event.type(), "id", event.entityId() != null ? event.entityId() : ""),
+                                        MediaType.APPLICATION_JSON));
+                    }
+                    sendStartedAt = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+                return;
+            } finally {
+                sendStartedAt = 0;
+                draining.set(false);
+            }
+
+            if (closed) {
+                // Dropped while sending: complete the stream now that the write returned
+                if (draining.compareAndSet(false, true)) {
+                    emitter.complete();
+                }
+            } else if (!buffer.isEmpty()) {
+                // An event may have arrived between the last poll and releasing the flag
+                scheduleDrain();
+            }
+        }
+
+        private ChangeEvent poll() {
+            synchronized (buffer) {
+                return buffer.poll();
+            }
+        }
+    }
+}
@@ -7,12 +7,20 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class CloudinaryService {
 
+    // Default delivery host of Cloudinary; URLs on any other host are never treated as ours
+    private static final String DELIVERY_HOST = "res.cloudinary.com";
+    private static final Set<String> RESOURCE_TYPES = Set.of("raw", "image", "video");
+
     private final Cloudinary cloudinary;
+    private final String cloudName;
 
     /**
      * Constructor - initializes Cloudinary with credentials from
@@ -22,6 +30,7 @@ public class CloudinaryService {
             @Value("${cloudinary.cloud-name}") String cloudName,
             @Value("${cloudinary.api-key}") String apiKey,
             @Value("${cloudinary.api-secret}") String apiSecret) {
+        this.cloudName = cloudName;
         this.cloudinary = new Cloudinary(ObjectUtils.asMap(
                 "cloud_name", cloudName,
                 "api_key", apiKey,
@@ -89,4 +98,66 @@ public class CloudinaryService {
     public void deleteFile(String publicId) throws IOException {
         cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
     }
+
+    /**
+     * Identify the stored file behind a delivery URL
+     * (e.g. https://res.cloudinary.com/{cloud}/raw/upload/v123/lite-app/cvs/cv.pdf)
+     *
+     * @return the file, or null when the URL is not an upload of this account
+     *         (other host, other cloud name, not an upload URL)
+     */
+    public StoredFile parseUrl(String url) {
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException | NullPointerException e) {
+            return null;
+        }
+        if (!"https".equalsIgnoreCase(uri.getScheme()) && !"http".equalsIgnoreCase(uri.getScheme())
+                || !DELIVERY_HOST.equalsIgnoreCase(uri.getHost()) || uri.getPath() == null) {
+            return null;
+        }
+
+        // /{cloud}/{resource type}/upload/[v{version}/]{path}
+        String[] segments = uri.getPath().split("/", 5);
+        if (segments.length < 5 || !segments[0].isEmpty() || !segments[1].equals(cloudName)
+                || !RESOURCE_TYPES.contains(segments[2]) || !segments[3].equals("upload")) {
+            return null;
+        }
+        String resourceType = segments[2];
+        String path = segments[4].replaceFirst("^v\\d+/", "");
+        // Only raw files keep their extension in the public id
+        String publicId = resourceType.equals("raw") ? path : path.replaceFirst("\\.[^./]+$", "");
+        if (publicId.isEmpty()) {
+            return null;
+        }
+        return new StoredFile(resourceType, publicId);
+    }
+
+    /**
+     * Delete a stored file of this account
+     *
+     * @throws IOException if deletion fails
+     */
+    public void deleteFile(StoredFile file) throws IOException {
+        cloudinary.uploader().destroy(file.publicId(), ObjectUtils.asMap(
+                "resource_type", file.resourceType(),
+                "invalidate", true));
+    }
+
+    /**
+     * A file stored in this Cloudinary account
+     *
+     * @param resourceType raw, image or video
+     * @param publicId     the id Cloudinary knows the file by
+     */
+    public record StoredFile(String resourceType, String publicId) {
+
+        /**
+         * Identity of the file: URLs with another version (re-uploads) or format point to the same file
+         */
+        public String key() {
+            return resourceType + "/" + publicId;
+        }
+    }
 }
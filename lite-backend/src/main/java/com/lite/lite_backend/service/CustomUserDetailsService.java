@@ -1,15 +1,18 @@
 package com.lite.lite_backend.service;
 
+import com.lite.lite_backend.entity.User;
 import com.lite.lite_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -28,4 +31,23 @@ public class CustomUserDetailsService implements UserDetailsService {
                         "User not found with email: " + email
                 ));
     }
+
+    /**
+     * Store a re-hashed password.
+     * Spring Security calls this after a successful login when the stored hash
+     * uses an outdated algorithm or cost. The user is already loaded, so only
+     * the hash column is updated (a save would merge and re-read the row).
+     *
+     * @param userDetails the authenticated user
+     * @param newPassword the password encoded with the current settings
+     * @return the updated user
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        userRepository.updatePassword(user.getId(), newPassword);
+        user.setPassword(newPassword);
+        return user;
+    }
 }
@@ -0,0 +1,244 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.dto.DashboardCountersDTO;
+import com.lite.lite_backend.entity.Folder;
+import com.lite.lite_backend.entity.JobStatus;
+import com.lite.lite_backend.entity.TaskStatus;
+import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.entity.UserCounter;
+import com.lite.lite_backend.repository.DocumentRepository;
+import com.lite.lite_backend.repository.FolderRepository;
+import com.lite.lite_backend.repository.JobApplicationRepository;
+import com.lite.lite_backend.repository.NoteRepository;
+import com.lite.lite_backend.repository.TaskRepository;
+import com.lite.lite_backend.repository.UserCounterRepository;
+import com.lite.lite_backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per-user dashboard numbers (tasks and jobs per status, notes, documents, folders),
+ * kept in the user_counters table so the dashboard reads a handful of rows instead of every item.
+ * - Single writes add +1 / -1 in the same transaction as the change
+ * - Bulk writes (batches with folder deletes, imports) recount the user instead
+ * - A scheduled job recounts every user and repairs any drift (lite.counters.repaired)
+ */
+@Service
+public class DashboardCounterService {
+
+    public static final String NOTES = "notes";
+    public static final String DOCUMENTS = "documents";
+    public static final String FOLDERS = "folders";
+    private static final String TASK_PREFIX = "task:";
+    private static final String JOB_PREFIX = "job:";
+
+    private final UserCounterRepository userCounterRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final JobApplicationRepository jobApplicationRepository;
+    private final NoteRepository noteRepository;
+    private final DocumentRepository documentRepository;
+    private final FolderRepository folderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repaired;
+    private final int reconcilePageSize;
+
+    public DashboardCounterService(UserCounterRepository userCounterRepository,
+            UserRepository userRepository,
+            TaskRepository taskRepository,
+            JobApplicationRepository jobApplicationRepository,
+            NoteRepository noteRepository,
+            DocumentRepository documentRepository,
+            FolderRepository folderRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${lite.counters.reconcile-page-size:500}") int reconcilePageSize) {
+        this.userCounterRepository = userCounterRepository;
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.jobApplicationRepository = jobApplicationRepository;
+        this.noteRepository = noteRepository;
+        this.documentRepository = documentRepository;
+        this.folderRepository = folderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repaired = Counter.builder("lite.counters.repaired")
+                .description("Dashboard counters corrected by reconciliation")
+                .register(meterRegistry);
+        this.reconcilePageSize = reconcilePageSize;
+    }
+
+    public static String taskStatus(TaskStatus status) {
+        return TASK_PREFIX + status.getLabel();
+    }
+
+    public static String jobStatus(JobStatus status) {
+        return JOB_PREFIX + status.getLabel();
+    }
+
+    /**
+     * Get the currently logged-in user
+     */
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (User) authentication.getPrincipal();
+    }
+
+    /**
+     * Get the dashboard numbers of the logged-in user
+     */
+    @Transactional(readOnly = true)
+    public DashboardCountersDTO getCounters() {
+        DashboardCountersDTO dto = new DashboardCountersDTO();
+        for (UserCounter counter : userCounterRepository.findByUserId(getCurrentUser().getId())) {
+            String name = counter.getName();
+            long value = counter.getValue();
+            if (value == 0) {
+                continue;
+            }
+            if (name.startsWith(TASK_PREFIX)) {
+                dto.getTasksByStatus().put(name.substring(TASK_PREFIX.length()), value);
+                dto.setTasks(dto.getTasks() + value);
+            } else if (name.startsWith(JOB_PREFIX)) {
+                dto.getJobsByStatus().put(name.substring(JOB_PREFIX.length()), value);
+                dto.setJobs(dto.getJobs() + value);
+            } else if (name.equals(NOTES)) {
+                dto.setNotes(value);
+            } else if (name.equals(DOCUMENTS)) {
+                dto.setDocuments(value);
+            } else if (name.equals(FOLDERS)) {
+                dto.setFolders(value);
+            }
+        }
+        return dto;
+    }
+
+    // ============================================
+    // Write paths
+    // ============================================
+
+    /**
+     * Add a delta to one counter (joins the caller's transaction)
+     */
+    @Transactional
+    public void add(User user, String counter, long delta) {
+        if (delta != 0) {
+            userCounterRepository.add(user.getId(), counter, delta);
+        }
+    }
+
+    /**
+     * Add several deltas at once (batches)
+     */
+    @Transactional
+    public void addAll(User user, Map<String, Long> deltas) {
+        deltas.forEach((counter, delta) -> add(user, counter, delta));
+    }
+
+    /**
+     * Move one item from a counter to another (status change); nothing happens if both are the same
+     */
+    @Transactional
+    public void move(User user, String from, String to) {
+        if (!Objects.equals(from, to)) {
+            add(user, from, -1);
+            add(user, to, 1);
+        }
+    }
+
+    /**
+     * Count a folder delete, together with everything below it (before the subtree is deleted)
+     */
+    @Transactional
+    public void folderDeleted(User user, Folder folder) {
+        addAll(user, Map.of(
+                FOLDERS, -folderRepository.countSubtree(folder.getId()),
+                NOTES, -noteRepository.countInFolderSubtree(folder.getId()),
+                DOCUMENTS, -documentRepository.countInFolderSubtree(folder.getId())));
+    }
+
+    /**
+     * Remove all counters of a user (account deletion)
+     */
+    @Transactional
+    public void deleteAll(User user) {
+        userCounterRepository.deleteByUserId(user.getId());
+    }
+
+    // ============================================
+    // Reconciliation
+    // ============================================
+
+    /**
+     * Recount a user's numbers from the data and fix the counters that differ.
+     * The user's counter rows are locked first, so writers already holding them finish before the recount.
+     *
+     * @return the number of counters that were wrong
+     */
+    @Transactional
+    public int recount(User user) {
+        Long userId = user.getId();
+        userCounterRepository.lockByUserId(userId);
+
+        Map<String, Long> actual = new HashMap<>();
+        taskRepository.countByStatus(user)
+                .forEach(row -> actual.put(taskStatus((TaskStatus) row[0]), ((Number) row[1]).longValue()));
+        jobApplicationRepository.countByStatus(user)
+                .forEach(row -> actual.put(jobStatus((JobStatus) row[0]), ((Number) row[1]).longValue()));
+        actual.put(NOTES, noteRepository.countByUser(user));
+        actual.put(DOCUMENTS, documentRepository.countByUser(user));
+        actual.put(FOLDERS, folderRepository.countByUser(user));
+
+        Map<String, Long> stored = new HashMap<>();
+        userCounterRepository.findByUserId(userId).forEach(c -> stored.put(c.getName(), c.getValue()));
+
+        int wrong = 0;
+        for (Map.Entry<String, Long> counter : actual.entrySet()) {
+            if (!counter.getValue().equals(stored.get(counter.getKey()))) {
+                userCounterRepository.set(userId, counter.getKey(), counter.getValue());
+                wrong++;
+            }
+        }
+        if (!actual.keySet().containsAll(stored.keySet())) {
+            wrong += (int) stored.keySet().stream().filter(name -> !actual.containsKey(name)).count();
+            userCounterRepository.deleteByUserIdAndNameNotIn(userId, actual.keySet());
+        }
+        return wrong;
+    }
+
+    /**
+     * Recount every user, one transaction per user
+     * (shortly after startup, then every 6 hours by default)
+     */
+    @Scheduled(initialDelayString = "${lite.counters.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${lite.counters.reconcile-interval-ms:21600000}")
+    public void reconcileAll() {
+        long afterId = 0;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, reconcilePageSize));
+            for (Long userId : userIds) {
+                Integer wrong = transactionTemplate.execute(status -> recount(userRepository.getReferenceById(userId)));
+                if (wrong != null && wrong > 0) {
+                    repaired.increment(wrong);
+                }
+            }
+            if (!userIds.isEmpty()) {
+                afterId = userIds.get(userIds.size() - 1);
+            }
+        } while (userIds.size() == reconcilePageSize);
+    }
+}
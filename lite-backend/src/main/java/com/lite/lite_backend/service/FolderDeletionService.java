@@ -0,0 +1,45 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.event.StoredFilesReleasedEvent;
+import com.lite.lite_backend.repository.DocumentRepository;
+import com.lite.lite_backend.repository.FolderRepository;
+import com.lite.lite_backend.repository.NoteRepository;
+import com.lite.lite_backend.repository.NoteVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Deletes a folder with everything below it in a fixed number of statements, whatever its size:
+ * note versions, notes, documents, then the folders, each selected through folder_closure.
+ * No entity is loaded; the uploaded files are removed in the background after commit.
+ * Tombstones and counters are the caller's job and must be written before (they read the subtree).
+ */
+@Service
+@RequiredArgsConstructor
+public class FolderDeletionService {
+
+    private final FolderRepository folderRepository;
+    private final NoteRepository noteRepository;
+    private final NoteVersionRepository noteVersionRepository;
+    private final DocumentRepository documentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Delete a folder and its whole subtree
+     */
+    @Transactional
+    public void deleteSubtree(Long folderId) {
+        List<String> fileUrls = documentRepository.findUrlsInFolderSubtree(folderId);
+
+        noteVersionRepository.deleteInFolderSubtree(folderId);
+        noteRepository.deleteInFolderSubtree(folderId);
+        documentRepository.deleteInFolderSubtree(folderId);
+        folderRepository.deleteSubtree(folderId);
+
+        eventPublisher.publishEvent(new StoredFilesReleasedEvent(fileUrls));
+    }
+}
@@ -0,0 +1,67 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.repository.FolderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keeps the folder_closure table (every ancestor / descendant pair of folders) in step with parent_folder_id.
+ * - Create: the new folder's rows are copied from its parent's, one statement
+ * - Move: the subtree is cut from its old ancestors and linked to the new ones, two statements
+ * - Delete: nothing to do, the rows go with the folders (ON DELETE CASCADE)
+ * Must run in the same transaction as the folder change.
+ */
+@Service
+@RequiredArgsConstructor
+public class FolderHierarchyService {
+
+    private final FolderRepository folderRepository;
+
+    /**
+     * Index a folder that was just saved
+     *
+     * @param parentId the parent folder, or null for a root folder
+     */
+    @Transactional
+    public void folderCreated(Long folderId, Long parentId) {
+        folderRepository.insertClosure(folderId, parentId);
+    }
+
+    /**
+     * Re-index a folder and everything below it after a move
+     *
+     * @param parentId the new parent folder, or null for the root
+     */
+    @Transactional
+    public void folderMoved(Long folderId, Long parentId) {
+        folderRepository.detachSubtree(folderId);
+        if (parentId != null) {
+            folderRepository.attachSubtree(folderId, parentId);
+        }
+    }
+
+    /**
+     * Index the folders of a user that were inserted without going through {@link #folderCreated} (imports)
+     */
+    @Transactional
+    public void indexNewFolders(Long userId) {
+        folderRepository.insertMissingClosures(userId);
+    }
+
+    /**
+     * Whether moving {@code folderId} under {@code targetId} would put it inside itself
+     */
+    public boolean wouldCreateCycle(Long folderId, Long targetId) {
+        return targetId != null && folderRepository.isInSubtree(targetId, folderId);
+    }
+
+    /**
+     * Breadcrumb of a folder, root first
+     */
+    public List<FolderRepository.FolderHeader> getPath(Long folderId) {
+        return folderRepository.findPath(folderId);
+    }
+}
@@ -1,17 +1,36 @@
 package com.lite.lite_backend.service;
 
+import com.lite.lite_backend.dto.BatchOperationDTO;
+import com.lite.lite_backend.dto.BatchResultDTO;
 import com.lite.lite_backend.dto.JobApplicationDTO;
 import com.lite.lite_backend.entity.JobApplication;
+import com.lite.lite_backend.entity.JobStatus;
+import com.lite.lite_backend.entity.Tombstone;
 import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.event.ChangeEvent;
+import com.lite.lite_backend.exception.DomainException;
 import com.lite.lite_backend.repository.JobApplicationRepository;
+import com.lite.lite_backend.util.DataVersionRegistry;
+import com.lite.lite_backend.util.UserDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,7 +38,13 @@ import java.util.stream.Collectors;
 public class JobApplicationService {
 
     private final JobApplicationRepository jobApplicationRepository;
+    private final OwnershipService ownership;
     private final CloudinaryService cloudinaryService;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final UserDataCache userDataCache;
+    private final SyncService syncService;
+    private final DashboardCounterService dashboardCounters;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get the currently logged-in user
@@ -44,36 +69,56 @@ public class JobApplicationService {
                 jobApplication.getCvUrl());
     }
 
+    /**
+     * Get the version of the logged-in user's job applications (changes on every write), for the list's ETag;
+     * read it before the list
+     */
+    public long getJobApplicationsVersion() {
+        return dataVersionRegistry.version(DataVersionRegistry.Scope.JOBS, getCurrentUser().getId());
+    }
+
     /**
      * Get all job applications for the logged-in user
      */
     public List<JobApplicationDTO> getAllJobApplications() {
-        User currentUser = getCurrentUser();
-        List<JobApplication> jobApplications = jobApplicationRepository.findByUserOrderByDateAppliedDesc(currentUser);
-        return jobApplications.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getAllJobApplications(getJobApplicationsVersion());
     }
 
     /**
-     * Get a single job application by ID (only if it belongs to the current user)
+     * Get all job applications for the logged-in user
+     *
+     * @param version the version read by {@link #getJobApplicationsVersion()}; a cache hit needs no other read
      */
-    public JobApplicationDTO getJobApplicationById(Long id) {
+    public List<JobApplicationDTO> getAllJobApplications(long version) {
         User currentUser = getCurrentUser();
-        JobApplication jobApplication = jobApplicationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Job application not found"));
+        return userDataCache.get(DataVersionRegistry.Scope.JOBS, currentUser.getId(), version, "all",
+                () -> jobApplicationRepository.findByUserOrderByDateAppliedDesc(currentUser).stream()
+                        .map(this::convertToDTO)
+                        .toList());
+    }
 
-        // Security check: ensure the job application belongs to the current user
-        if (!jobApplication.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Unauthorized access");
-        }
+    /**
+     * Find a single job application by ID; empty when it is missing or someone else's (see {@link #jobApplicationDenied})
+     */
+    public Optional<JobApplicationDTO> findJobApplicationById(Long id) {
+        User currentUser = getCurrentUser();
+        return Optional.ofNullable(userDataCache.get(DataVersionRegistry.Scope.JOBS, currentUser.getId(), "id:" + id,
+                () -> ownership.findOwned(jobApplicationRepository, id, currentUser.getId())
+                        .map(this::convertToDTO)
+                        .orElse(null)));
+    }
 
-        return convertToDTO(jobApplication);
+    /**
+     * Why a job application id can't be read: not found, or someone else's
+     */
+    public DomainException jobApplicationDenied(Long id) {
+        return ownership.denied(jobApplicationRepository, id, "Job application");
     }
 
     /**
      * Create a new job application
      */
+    @Transactional
     public JobApplicationDTO createJobApplication(JobApplicationDTO dto) {
         User currentUser = getCurrentUser();
 
@@ -87,22 +132,23 @@ public class JobApplicationService {
         jobApplication.setUser(currentUser);
 
         JobApplication saved = jobApplicationRepository.save(jobApplication);
+        dashboardCounters.add(currentUser, DashboardCounterService.jobStatus(saved.getStatus()), 1);
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.JOBS, currentUser.getId());
+        eventPublisher.publishEvent(new ChangeEvent(currentUser.getId(), "job.created", saved.getId()));
         return convertToDTO(saved);
     }
 
     /**
      * Update an existing job application
      */
+    @Transactional
     public JobApplicationDTO updateJobApplication(Long id, JobApplicationDTO dto) {
         User currentUser = getCurrentUser();
-        JobApplication jobApplication = jobApplicationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Job application not found"));
-
-        // Security check
-        if (!jobApplication.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Unauthorized access");
-        }
+        JobApplication jobApplication = ownership.requireOwned(jobApplicationRepository, id,
+                currentUser.getId(), "Job application");
 
+        dashboardCounters.move(currentUser, DashboardCounterService.jobStatus(jobApplication.getStatus()),
+                DashboardCounterService.jobStatus(dto.getStatus()));
         jobApplication.setCompany(dto.getCompany());
         jobApplication.setWayOfApplying(dto.getWayOfApplying());
         jobApplication.setContact(dto.getContact());
@@ -111,23 +157,25 @@ public class JobApplicationService {
         jobApplication.setJobDescription(dto.getJobDescription());
 
         JobApplication updated = jobApplicationRepository.save(jobApplication);
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.JOBS, currentUser.getId());
+        eventPublisher.publishEvent(new ChangeEvent(currentUser.getId(), "job.updated", id));
         return convertToDTO(updated);
     }
 
     /**
      * Delete a job application
      */
+    @Transactional
     public void deleteJobApplication(Long id) {
         User currentUser = getCurrentUser();
-        JobApplication jobApplication = jobApplicationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Job application not found"));
-
-        // Security check
-        if (!jobApplication.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Unauthorized access");
-        }
+        JobApplication jobApplication = ownership.requireOwned(jobApplicationRepository, id,
+                currentUser.getId(), "Job application");
 
         jobApplicationRepository.delete(jobApplication);
+        syncService.recordDelete(currentUser, Tombstone.JOB_APPLICATION, id);
+        dashboardCounters.add(currentUser, DashboardCounterService.jobStatus(jobApplication.getStatus()), -1);
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.JOBS, currentUser.getId());
+        eventPublisher.publishEvent(new ChangeEvent(currentUser.getId(), "job.deleted", id));
     }
 
     /**
@@ -135,13 +183,8 @@ public class JobApplicationService {
      */
     public JobApplicationDTO uploadCV(Long id, MultipartFile file) throws IOException {
         User currentUser = getCurrentUser();
-        JobApplication jobApplication = jobApplicationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Job application not found"));
-
-        // Security check
-        if (!jobApplication.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Unauthorized access");
-        }
+        JobApplication jobApplication = ownership.requireOwned(jobApplicationRepository, id,
+                currentUser.getId(), "Job application");
 
         // Upload file to Cloudinary
         String cvUrl = cloudinaryService.uploadFile(file);
@@ -149,25 +192,143 @@ public class JobApplicationService {
         // Update job application with CV URL
         jobApplication.setCvUrl(cvUrl);
         JobApplication updated = jobApplicationRepository.save(jobApplication);
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.JOBS, currentUser.getId());
+        eventPublisher.publishEvent(new ChangeEvent(currentUser.getId(), "job.updated", id));
 
         return convertToDTO(updated);
     }
 
+    /**
+     * Apply create / update / delete operations in a single transaction
+     * - All referenced job applications are loaded with one query
+     * - Invalid items (unknown op, missing fields, unknown or foreign application) are reported and skipped
+     * - Writes go out as JDBC batches
+     *
+     * @return one result per operation, in request order
+     */
+    @Transactional
+    public List<BatchResultDTO> applyBatch(List<BatchOperationDTO<JobApplicationDTO>> operations) {
+        User currentUser = getCurrentUser();
+
+        Set<Long> ids = operations.stream()
+                .filter(Objects::nonNull)
+                .map(BatchOperationDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, JobApplication> jobsById = jobApplicationRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(JobApplication::getId, Function.identity()));
+
+        BatchResultDTO[] results = new BatchResultDTO[operations.size()];
+        Map<Integer, JobApplication> created = new HashMap<>();
+        List<JobApplication> toSave = new ArrayList<>();
+        List<JobApplication> toDelete = new ArrayList<>();
+        Map<String, Long> counterDeltas = new HashMap<>();
+        List<ChangeEvent> events = new ArrayList<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDTO<JobApplicationDTO> operation = operations.get(i);
+            if (operation == null) {
+                results[i] = BatchResultDTO.error(i, null, 400, "Operation is required");
+                continue;
+            }
+            JobApplicationDTO dto = operation.getData();
+            String op = operation.getOp() != null ? operation.getOp() : "";
+
+            if (op.equals("create") || op.equals("update")) {
+                if (dto == null || dto.getCompany() == null || dto.getStatus() == null || dto.getDateApplied() == null) {
+                    results[i] = BatchResultDTO.error(i, operation.getId(), 400,
+                            "Company, status and date applied are required");
+                    continue;
+                }
+            }
+
+            if (op.equals("create")) {
+                JobApplication jobApplication = new JobApplication();
+                applyFields(jobApplication, dto);
+                jobApplication.setUser(currentUser);
+                toSave.add(jobApplication);
+                created.put(i, jobApplication);
+                counterDeltas.merge(DashboardCounterService.jobStatus(dto.getStatus()), 1L, Long::sum);
+                continue;
+            }
+
+            JobApplication jobApplication = jobsById.get(operation.getId());
+            if (jobApplication == null) {
+                results[i] = BatchResultDTO.error(i, operation.getId(), 404, "Job application not found");
+                continue;
+            }
+            if (!jobApplication.getUser().getId().equals(currentUser.getId())) {
+                results[i] = BatchResultDTO.error(i, operation.getId(), 403, "Unauthorized access");
+                continue;
+            }
+
+            switch (op) {
+                case "update" -> {
+                    counterDeltas.merge(DashboardCounterService.jobStatus(jobApplication.getStatus()), -1L, Long::sum);
+                    counterDeltas.merge(DashboardCounterService.jobStatus(dto.getStatus()), 1L, Long::sum);
+                    applyFields(jobApplication, dto);
+                    toSave.add(jobApplication);
+                    events.add(new ChangeEvent(currentUser.getId(), "job.updated", jobApplication.getId()));
+                    results[i] = BatchResultDTO.ok(i, jobApplication.getId(), 200);
+                }
+                case "delete" -> {
+                    toDelete.add(jobApplication);
+                    counterDeltas.merge(DashboardCounterService.jobStatus(jobApplication.getStatus()), -1L, Long::sum);
+                    events.add(new ChangeEvent(currentUser.getId(), "job.deleted", jobApplication.getId()));
+                    results[i] = BatchResultDTO.ok(i, jobApplication.getId(), 204);
+                }
+                default -> results[i] = BatchResultDTO.error(i, jobApplication.getId(), 400, "Unknown operation: " + op);
+            }
+        }
+
+        jobApplicationRepository.saveAll(toSave);
+        jobApplicationRepository.deleteAll(toDelete);
+        syncService.recordDeletes(currentUser, Tombstone.JOB_APPLICATION,
+                toDelete.stream().map(JobApplication::getId).collect(Collectors.toList()));
+        dashboardCounters.addAll(currentUser, counterDeltas);
+
+        created.forEach((index, jobApplication) -> {
+            results[index] = BatchResultDTO.ok(index, jobApplication.getId(), 201);
+            events.add(new ChangeEvent(currentUser.getId(), "job.created", jobApplication.getId()));
+        });
+
+        if (!toSave.isEmpty() || !toDelete.isEmpty()) {
+            dataVersionRegistry.bump(DataVersionRegistry.Scope.JOBS, currentUser.getId());
+        }
+        events.forEach(eventPublisher::publishEvent);
+        return List.of(results);
+    }
+
+    /**
+     * Copy the editable fields of a DTO onto an entity
+     */
+    private void applyFields(JobApplication jobApplication, JobApplicationDTO dto) {
+        jobApplication.setCompany(dto.getCompany());
+        jobApplication.setWayOfApplying(dto.getWayOfApplying());
+        jobApplication.setContact(dto.getContact());
+        jobApplication.setStatus(dto.getStatus());
+        jobApplication.setDateApplied(dto.getDateApplied());
+        jobApplication.setJobDescription(dto.getJobDescription());
+    }
+
     /**
      * Search job applications by company or role
      */
     public List<JobApplicationDTO> searchJobApplications(String query) {
-        User currentUser = getCurrentUser();
-        List<JobApplication> allJobs = jobApplicationRepository.findByUserOrderByDateAppliedDesc(currentUser);
+        // Filter the (cached) full list instead of loading it again
+        List<JobApplicationDTO> allJobs = getAllJobApplications();
 
         String lowerQuery = query.toLowerCase();
+        // Match the status labels once instead of per application
+        Set<JobStatus> matchingStatuses = Arrays.stream(JobStatus.values())
+                .filter(status -> status.getLabel().toLowerCase().contains(lowerQuery))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(JobStatus.class)));
         return allJobs.stream()
                 .filter(job -> (job.getCompany() != null && job.getCompany().toLowerCase().contains(lowerQuery)) ||
                         (job.getWayOfApplying() != null && job.getWayOfApplying().toLowerCase().contains(lowerQuery)) ||
                         (job.getContact() != null && job.getContact().toLowerCase().contains(lowerQuery)) ||
-                        (job.getStatus() != null && job.getStatus().toLowerCase().contains(lowerQuery)) ||
+                        matchingStatuses.contains(job.getStatus()) ||
                         (job.getJobDescription() != null && job.getJobDescription().toLowerCase().contains(lowerQuery)))
-                .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,366 @@
+package com.lite.lite_backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lite.lite_backend.dto.ImportResultDTO;
+import com.lite.lite_backend.dto.JobApplicationDTO;
+import com.lite.lite_backend.entity.JobApplication;
+import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.event.ChangeEvent;
+import com.lite.lite_backend.repository.DocumentRepository;
+import com.lite.lite_backend.repository.JobApplicationRepository;
+import com.lite.lite_backend.util.DataVersionRegistry;
+import com.lite.lite_backend.util.SequenceIdAllocator;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk import and export of job applications as CSV or JSON.
+ * - Export streams rows from the database straight into the response
+ * - Import parses the request body row by row and inserts in JDBC batches
+ * Neither side ever holds more than one chunk of rows in memory.
+ */
+@Service
+public class JobApplicationTransferService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_SQL = "INSERT INTO job_applications "
+            + "(company, way_of_applying, contact, status, date_applied, job_description, cv_url, updated_at, user_id, id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("company")
+            .addColumn("wayOfApplying")
+            .addColumn("contact")
+            .addColumn("status")
+            .addColumn("dateApplied")
+            .addColumn("jobDescription")
+            .addColumn("cvUrl")
+            .build()
+            .withHeader();
+
+    public enum Format {
+        CSV, JSON;
+
+        public static Format fromName(String name) {
+            try {
+                return valueOf(name.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported format: " + name);
+            }
+        }
+    }
+
+    private final JobApplicationRepository jobApplicationRepository;
+    private final DocumentRepository documentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+    private final EntityManager entityManager;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final DashboardCounterService dashboardCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    public JobApplicationTransferService(JobApplicationRepository jobApplicationRepository,
+            DocumentRepository documentRepository,
+            JdbcTemplate jdbcTemplate,
+            SequenceIdAllocator idAllocator,
+            EntityManager entityManager,
+            DataVersionRegistry dataVersionRegistry,
+            DashboardCounterService dashboardCounters,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        this.jobApplicationRepository = jobApplicationRepository;
+        this.documentRepository = documentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.entityManager = entityManager;
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.dashboardCounters = dashboardCounters;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build();
+    }
+
+    /**
+     * Get the currently logged-in user
+     */
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (User) authentication.getPrincipal();
+    }
+
+    // ============================================
+    // Export
+    // ============================================
+
+    /**
+     * Export all job applications of the logged-in user (newest first).
+     * The user is resolved now; the rows are read and written later, while the response is streamed.
+     */
+    public StreamingResponseBody exportJobApplications(Format format) {
+        User currentUser = getCurrentUser();
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<JobApplication> jobs = jobApplicationRepository.streamByUser(currentUser);
+                 SequenceWriter writer = openWriter(format, out)) {
+                Iterator<JobApplication> iterator = jobs.iterator();
+                while (iterator.hasNext()) {
+                    JobApplication job = iterator.next();
+                    writer.write(toDTO(job));
+                    // Drop the row from the persistence context so memory stays flat
+                    entityManager.detach(job);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private SequenceWriter openWriter(Format format, OutputStream out) throws IOException {
+        // The servlet container owns the response stream, so the writer must not close it
+        if (format == Format.CSV) {
+            return csvMapper.writerFor(JobApplicationDTO.class)
+                    .with(CSV_SCHEMA)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValues(out);
+        }
+        ObjectWriter writer = objectMapper.writerFor(JobApplicationDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return writer.writeValuesAsArray(out);
+    }
+
+    private JobApplicationDTO toDTO(JobApplication job) {
+        return new JobApplicationDTO(
+                job.getId(),
+                job.getCompany(),
+                job.getWayOfApplying(),
+                job.getContact(),
+                job.getStatus(),
+                job.getDateApplied(),
+                job.getJobDescription(),
+                job.getCvUrl());
+    }
+
+    // ============================================
+    // Import
+    // ============================================
+
+    /**
+     * Import job applications for the logged-in user
+     * - CSV needs a header row; columns are matched by name (see the export for the names)
+     * - JSON is an array of job application objects
+     * - Ids in the input are ignored, every row becomes a new application
+     * - Invalid rows are skipped and reported; malformed input aborts the whole import
+     * - A cvUrl is only kept when the account already references that file; others are dropped and reported
+     */
+    @Transactional
+    public ImportResultDTO importJobApplications(Format format, InputStream in) throws IOException {
+        User currentUser = getCurrentUser();
+        ImportResultDTO result = new ImportResultDTO();
+        List<JobApplicationDTO> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Integer> chunkRows = new ArrayList<>(CHUNK_SIZE);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (MappingIterator<JobApplicationDTO> rows = openReader(format).readValues(in)) {
+            int row = 0;
+            while (true) {
+                JobApplicationDTO dto;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    dto = rows.nextValue();
+                } catch (JsonParseException e) {
+                    throw new IllegalArgumentException("Malformed " + format.name() + " near row " + (row + 1));
+                } catch (JsonMappingException e) {
+                    // Wrong value type (e.g. an invalid date); the iterator skips to the next row
+                    reject(result, row, e.getOriginalMessage());
+                    continue;
+                }
+
+                String error = validate(dto);
+                if (error != null) {
+                    reject(result, row, error);
+                    continue;
+                }
+
+                chunk.add(dto);
+                chunkRows.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    dropForeignCvUrls(chunk, chunkRows, currentUser, result);
+                    insertChunk(chunk, currentUser, now);
+                    result.setImported(result.getImported() + chunk.size());
+                    chunk.clear();
+                    chunkRows.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            dropForeignCvUrls(chunk, chunkRows, currentUser, result);
+            insertChunk(chunk, currentUser, now);
+            result.setImported(result.getImported() + chunk.size());
+        }
+
+        if (result.getImported() > 0) {
+            dataVersionRegistry.bump(DataVersionRegistry.Scope.JOBS, currentUser.getId());
+            dashboardCounters.recount(currentUser);
+            // One event for the whole import: clients refetch instead of receiving thousands of events
+            eventPublisher.publishEvent(new ChangeEvent(currentUser.getId(), "job.imported", null));
+        }
+        return result;
+    }
+
+    private ObjectReader openReader(Format format) {
+        if (format == Format.CSV) {
+            return csvMapper.readerFor(JobApplicationDTO.class).with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(JobApplicationDTO.class);
+    }
+
+    /**
+     * Check the same constraints as the job_applications table
+     *
+     * @return the error message, or null when the row is valid
+     */
+    private String validate(JobApplicationDTO dto) {
+        if (dto == null) {
+            return "empty row";
+        }
+        if (isBlank(dto.getCompany())) {
+            return "company is required";
+        }
+        if (dto.getStatus() == null) {
+            return "status is required";
+        }
+        if (dto.getDateApplied() == null) {
+            return "dateApplied is required";
+        }
+        if (tooLong(dto.getCompany(), 255) || tooLong(dto.getWayOfApplying(), 255)
+                || tooLong(dto.getContact(), 255)) {
+            return "text fields are limited to 255 characters";
+        }
+        if (tooLong(dto.getJobDescription(), 1000)) {
+            return "jobDescription is limited to 1000 characters";
+        }
+        if (tooLong(dto.getCvUrl(), 500)) {
+            return "cvUrl is limited to 500 characters";
+        }
+        return null;
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private boolean tooLong(String value, int maxLength) {
+        return value != null && value.length() > maxLength;
+    }
+
+    private void reject(ImportResultDTO result, int row, String error) {
+        result.setSkipped(result.getSkipped() + 1);
+        report(result, row, error);
+    }
+
+    private void report(ImportResultDTO result, int row, String error) {
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add("row " + row + ": " + error);
+        }
+    }
+
+    /**
+     * Clear the CV links of a chunk that point to files this account does not own
+     * (the row is still imported), with one query for the whole chunk.
+     * Otherwise an import could claim another user's upload, and deleting the row would delete the file.
+     */
+    private void dropForeignCvUrls(List<JobApplicationDTO> chunk, List<Integer> chunkRows, User user,
+            ImportResultDTO result) {
+        Set<String> urls = chunk.stream()
+                .map(JobApplicationDTO::getCvUrl)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (urls.isEmpty()) {
+            return;
+        }
+        Set<String> owned = new HashSet<>(documentRepository.findOwnedFileUrls(user.getId(), urls));
+        for (int i = 0; i < chunk.size(); i++) {
+            JobApplicationDTO dto = chunk.get(i);
+            if (dto.getCvUrl() != null && !owned.contains(dto.getCvUrl())) {
+                dto.setCvUrl(null);
+                report(result, chunkRows.get(i), "cvUrl dropped, the file does not belong to this account");
+            }
+        }
+    }
+
+    /**
+     * Insert one chunk with a single JDBC batch (plain JDBC: the entities are not needed afterwards,
+     * and the chunk never enters the persistence context)
+     */
+    private void insertChunk(List<JobApplicationDTO> chunk, User user, Timestamp now) {
+        Iterator<Long> ids = idAllocator.allocate("job_applications_seq", chunk.size()).iterator();
+        jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, dto) -> {
+            ps.setString(1, dto.getCompany());
+            ps.setString(2, dto.getWayOfApplying());
+            ps.setString(3, dto.getContact());
+            ps.setShort(4, dto.getStatus().getCode());
+            ps.setDate(5, Date.valueOf(dto.getDateApplied()));
+            ps.setString(6, dto.getJobDescription());
+            ps.setString(7, dto.getCvUrl());
+            ps.setTimestamp(8, now);
+            ps.setLong(9, user.getId());
+            ps.setLong(10, ids.next());
+        });
+    }
+}
@@ -0,0 +1,398 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.dto.BatchOperationDTO;
+import com.lite.lite_backend.dto.BatchResultDTO;
+import com.lite.lite_backend.dto.KnowledgeBaseItemDTO;
+import com.lite.lite_backend.entity.*;
+import com.lite.lite_backend.event.ChangeEvent;
+import com.lite.lite_backend.event.StoredFilesReleasedEvent;
+import com.lite.lite_backend.repository.DocumentRepository;
+import com.lite.lite_backend.repository.FolderRepository;
+import com.lite.lite_backend.repository.NoteRepository;
+import com.lite.lite_backend.repository.NoteVersionRepository;
+import com.lite.lite_backend.util.DataVersionRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create / update / move / delete of knowledge base items
+ * (folders, notes and documents) in a single transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class KnowledgeBaseBatchService {
+
+    private final FolderRepository folderRepository;
+    private final NoteRepository noteRepository;
+    private final DocumentRepository documentRepository;
+    private final NoteVersionRepository noteVersionRepository;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final KnowledgeBaseTreeCache treeCache;
+    private final FolderHierarchyService folderHierarchy;
+    private final FolderDeletionService folderDeletion;
+    private final NoteContentService noteContents;
+    private final SyncService syncService;
+    private final DashboardCounterService dashboardCounters;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Apply the operations for a user
+     * - Supported: folder create/update/move/delete, note create/update/move/delete,
+     *   document move/delete (uploads stay on /upload-document)
+     * - Referenced folders, notes and documents are loaded with one query per type
+     * - Invalid items are reported and skipped; the others are written with JDBC batching
+     * - Created folders join the hierarchy index before any subtree delete, so a folder created
+     *   inside a folder deleted later in the same batch goes with it
+     *
+     * @return one result per operation, in request order
+     */
+    @Transactional
+    public List<BatchResultDTO> applyBatch(User user, List<BatchOperationDTO<KnowledgeBaseItemDTO>> operations) {
+        // Load everything the operations reference
+        Set<Long> folderIds = new HashSet<>();
+        Set<Long> noteIds = new HashSet<>();
+        Set<Long> documentIds = new HashSet<>();
+        for (BatchOperationDTO<KnowledgeBaseItemDTO> operation : operations) {
+            if (operation == null) {
+                continue;
+            }
+            if (operation.getData() != null && operation.getData().getFolderId() != null) {
+                folderIds.add(operation.getData().getFolderId());
+            }
+            if (operation.getId() == null || operation.getType() == null) {
+                continue;
+            }
+            switch (operation.getType()) {
+                case "folder" -> folderIds.add(operation.getId());
+                case "note" -> noteIds.add(operation.getId());
+                case "document" -> documentIds.add(operation.getId());
+                default -> {
+                }
+            }
+        }
+        Map<Long, Folder> folders = folderRepository.findAllById(folderIds).stream()
+                .collect(Collectors.toMap(Folder::getId, Function.identity()));
+        Map<Long, Note> notes = noteRepository.findAllById(noteIds).stream()
+                .collect(Collectors.toMap(Note::getId, Function.identity()));
+        Map<Long, Document> documents = documentRepository.findAllById(documentIds).stream()
+                .collect(Collectors.toMap(Document::getId, Function.identity()));
+
+        Map<Long, Integer> versionNumbers = new HashMap<>();
+        if (!notes.isEmpty()) {
+            noteVersionRepository.findMaxVersionNumbers(notes.keySet())
+                    .forEach(row -> versionNumbers.put((Long) row[0], (Integer) row[1]));
+        }
+
+        Batch batch = new Batch(user, operations.size(), folders, noteContents.getContents(notes.keySet()),
+                versionNumbers);
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDTO<KnowledgeBaseItemDTO> operation = operations.get(i);
+            if (operation == null) {
+                batch.results[i] = BatchResultDTO.error(i, null, 400, "Operation is required");
+                continue;
+            }
+            String type = operation.getType() != null ? operation.getType() : "";
+            switch (type) {
+                case "folder" -> applyFolderOperation(batch, i, operation);
+                case "note" -> applyNoteOperation(batch, i, operation, notes.get(operation.getId()));
+                case "document" -> applyDocumentOperation(batch, i, operation, documents.get(operation.getId()));
+                default -> batch.results[i] = BatchResultDTO.error(i, operation.getId(), 400, "Unknown type: " + type);
+            }
+        }
+
+        // Flush everything as batched statements
+        folderRepository.saveAll(batch.foldersToSave);
+        // Created folders only have an id once saved; index them before the subtree deletes below
+        batch.created.values().forEach(entity -> {
+            if (entity instanceof Folder folder) {
+                folderHierarchy.folderCreated(folder.getId(),
+                        folder.getParentFolder() != null ? folder.getParentFolder().getId() : null);
+            }
+        });
+        noteRepository.saveAll(batch.notesToSave);
+        batch.contentChanges.forEach(change -> noteContents.setContent(change.note(), change.content()));
+        Map<Long, String> newContents = new HashMap<>();
+        batch.created.forEach((index, entity) -> {
+            if (entity instanceof Note note) {
+                newContents.put(note.getId(), batch.createdContents.get(index));
+            }
+        });
+        noteContents.createContents(newContents);
+        noteVersionRepository.saveAll(batch.versionsToSave);
+        documentRepository.saveAll(batch.documentsToSave);
+        batch.foldersToDelete.forEach(folder -> syncService.recordFolderDelete(user, folder));
+        syncService.recordDeletes(user, Tombstone.NOTE,
+                batch.notesToDelete.stream().map(Note::getId).collect(Collectors.toList()));
+        syncService.recordDeletes(user, Tombstone.DOCUMENT,
+                batch.documentsToDelete.stream().map(Document::getId).collect(Collectors.toList()));
+        noteRepository.deleteAll(batch.notesToDelete);
+        documentRepository.deleteAll(batch.documentsToDelete);
+        eventPublisher.publishEvent(new StoredFilesReleasedEvent(batch.documentsToDelete.stream()
+                .map(Document::getDocumentUrl).filter(Objects::nonNull).collect(Collectors.toList())));
+        // Set-based, without loading the subtrees (clears the persistence context)
+        batch.foldersToDelete.forEach(folder -> folderDeletion.deleteSubtree(folder.getId()));
+
+        batch.created.forEach((index, entity) -> {
+            Long id = entity instanceof Folder folder ? folder.getId() : ((Note) entity).getId();
+            String type = entity instanceof Folder ? "folder.created" : "note.created";
+            batch.results[index] = BatchResultDTO.ok(index, id, 201);
+            batch.events.add(new ChangeEvent(user.getId(), type, id));
+        });
+
+        if (!batch.events.isEmpty()) {
+            dataVersionRegistry.bump(DataVersionRegistry.Scope.KNOWLEDGE_BASE, user.getId());
+            // Too many changes to patch one by one: the tree is rebuilt on the next read
+            treeCache.invalidate(user.getId());
+            // Folder deletes cascade: recount instead of tracking every removed item
+            dashboardCounters.recount(user);
+        }
+        batch.events.forEach(eventPublisher::publishEvent);
+        return List.of(batch.results);
+    }
+
+    private void applyFolderOperation(Batch batch, int i, BatchOperationDTO<KnowledgeBaseItemDTO> operation) {
+        KnowledgeBaseItemDTO data = operation.getData();
+        String op = operation.getOp() != null ? operation.getOp() : "";
+
+        if (op.equals("create")) {
+            if (data == null || data.getName() == null) {
+                batch.results[i] = BatchResultDTO.error(i, null, 400, "Name is required");
+                return;
+            }
+            Folder folder = new Folder();
+            folder.setName(data.getName());
+            folder.setUser(batch.user);
+            if (!batch.assignTargetFolder(i, data.getFolderId(), folder::setParentFolder)) {
+                return;
+            }
+            batch.foldersToSave.add(folder);
+            batch.created.put(i, folder);
+            return;
+        }
+
+        Folder folder = batch.folders.get(operation.getId());
+        if (!batch.checkOwned(i, operation.getId(), folder, folder != null ? folder.getUser() : null, "Folder")) {
+            return;
+        }
+
+        switch (op) {
+            case "update" -> {
+                if (data == null || data.getName() == null) {
+                    batch.results[i] = BatchResultDTO.error(i, folder.getId(), 400, "Name is required");
+                    return;
+                }
+                folder.setName(data.getName());
+                batch.foldersToSave.add(folder);
+                batch.done(i, folder.getId(), 200, "folder.updated");
+            }
+            case "move" -> {
+                Long targetId = data != null ? data.getFolderId() : null;
+                // A folder can't move into itself or into one of its own subfolders
+                // (the hierarchy index is updated move by move, so earlier moves of the batch count)
+                if (folderHierarchy.wouldCreateCycle(folder.getId(), targetId)) {
+                    batch.results[i] = BatchResultDTO.error(i, folder.getId(), 400,
+                            "Cannot move a folder into itself");
+                    return;
+                }
+                if (!batch.assignTargetFolder(i, targetId, folder::setParentFolder)) {
+                    return;
+                }
+                folderHierarchy.folderMoved(folder.getId(), targetId);
+                batch.foldersToSave.add(folder);
+                batch.done(i, folder.getId(), 200, "folder.moved");
+            }
+            case "delete" -> {
+                batch.foldersToDelete.add(folder);
+                batch.done(i, folder.getId(), 204, "folder.deleted");
+            }
+            default -> batch.results[i] = BatchResultDTO.error(i, folder.getId(), 400, "Unknown operation: " + op);
+        }
+    }
+
+    private void applyNoteOperation(Batch batch, int i, BatchOperationDTO<KnowledgeBaseItemDTO> operation, Note note) {
+        KnowledgeBaseItemDTO data = operation.getData();
+        String op = operation.getOp() != null ? operation.getOp() : "";
+
+        if (op.equals("create")) {
+            if (data == null || data.getTitle() == null) {
+                batch.results[i] = BatchResultDTO.error(i, null, 400, "Title is required");
+                return;
+            }
+            Note newNote = new Note();
+            newNote.setTitle(data.getTitle());
+            newNote.setUser(batch.user);
+            if (!batch.assignTargetFolder(i, data.getFolderId(), newNote::setFolder)) {
+                return;
+            }
+            batch.notesToSave.add(newNote);
+            batch.created.put(i, newNote);
+            batch.createdContents.put(i, data.getContent());
+            return;
+        }
+
+        if (!batch.checkOwned(i, operation.getId(), note, note != null ? note.getUser() : null, "Note")) {
+            return;
+        }
+
+        switch (op) {
+            case "update" -> {
+                if (data == null || data.getTitle() == null) {
+                    batch.results[i] = BatchResultDTO.error(i, note.getId(), 400, "Title is required");
+                    return;
+                }
+                // Keep the previous content in the version history, as a single save does
+                String previousContent = batch.contents.get(note.getId());
+                if (previousContent != null && !previousContent.equals(data.getContent())) {
+                    NoteVersion version = new NoteVersion();
+                    version.setNote(note);
+                    version.setTitle(note.getTitle());
+                    version.setContent(previousContent);
+                    version.setVersionNumber(batch.nextVersionNumber(note.getId()));
+                    batch.versionsToSave.add(version);
+                }
+                note.setTitle(data.getTitle());
+                batch.contentChanges.add(new ContentChange(note, data.getContent()));
+                batch.contents.put(note.getId(), data.getContent());
+                batch.notesToSave.add(note);
+                batch.done(i, note.getId(), 200, "note.saved");
+            }
+            case "move" -> {
+                if (!batch.assignTargetFolder(i, data != null ? data.getFolderId() : null, note::setFolder)) {
+                    return;
+                }
+                batch.notesToSave.add(note);
+                batch.done(i, note.getId(), 200, "note.moved");
+            }
+            case "delete" -> {
+                batch.notesToDelete.add(note);
+                batch.done(i, note.getId(), 204, "note.deleted");
+            }
+            default -> batch.results[i] = BatchResultDTO.error(i, note.getId(), 400, "Unknown operation: " + op);
+        }
+    }
+
+    private void applyDocumentOperation(Batch batch, int i, BatchOperationDTO<KnowledgeBaseItemDTO> operation,
+            Document document) {
+        KnowledgeBaseItemDTO data = operation.getData();
+        String op = operation.getOp() != null ? operation.getOp() : "";
+
+        if (!batch.checkOwned(i, operation.getId(), document, document != null ? document.getUser() : null, "Document")) {
+            return;
+        }
+
+        switch (op) {
+            case "move" -> {
+                if (!batch.assignTargetFolder(i, data != null ? data.getFolderId() : null, document::setFolder)) {
+                    return;
+                }
+                batch.documentsToSave.add(document);
+                batch.done(i, document.getId(), 200, "document.moved");
+            }
+            case "delete" -> {
+                batch.documentsToDelete.add(document);
+                batch.done(i, document.getId(), 204, "document.deleted");
+            }
+            default -> batch.results[i] = BatchResultDTO.error(i, document.getId(), 400, "Unknown operation: " + op);
+        }
+    }
+
+    /**
+     * New body of an updated note, written once the notes are saved
+     */
+    private record ContentChange(Note note, String content) {
+    }
+
+    /**
+     * Work collected while walking the operations
+     */
+    private static class Batch {
+
+        private final User user;
+        private final BatchResultDTO[] results;
+        private final Map<Long, Folder> folders;
+        private final Map<Long, String> contents;
+        // Highest version number per note so far, counting the versions added by this batch
+        private final Map<Long, Integer> versionNumbers;
+        private final Map<Integer, Object> created = new HashMap<>();
+        private final Map<Integer, String> createdContents = new HashMap<>();
+        private final List<ContentChange> contentChanges = new ArrayList<>();
+        private final List<Folder> foldersToSave = new ArrayList<>();
+        private final List<Folder> foldersToDelete = new ArrayList<>();
+        private final List<Note> notesToSave = new ArrayList<>();
+        private final List<Note> notesToDelete = new ArrayList<>();
+        private final List<NoteVersion> versionsToSave = new ArrayList<>();
+        private final List<Document> documentsToSave = new ArrayList<>();
+        private final List<Document> documentsToDelete = new ArrayList<>();
+        private final List<ChangeEvent> events = new ArrayList<>();
+
+        Batch(User user, int size, Map<Long, Folder> folders, Map<Long, String> contents,
+                Map<Long, Integer> versionNumbers) {
+            this.user = user;
+            this.results = new BatchResultDTO[size];
+            this.folders = folders;
+            this.contents = new HashMap<>(contents);
+            this.versionNumbers = versionNumbers;
+        }
+
+        /**
+         * Number for the next version of a note; a note updated twice in a batch gets two numbers
+         */
+        int nextVersionNumber(Long noteId) {
+            return versionNumbers.merge(noteId, 1, Integer::sum);
+        }
+
+        /**
+         * Record a 404 / 403 result unless the entity exists and belongs to the user
+         */
+        boolean checkOwned(int i, Long id, Object entity, User owner, String label) {
+            if (entity == null) {
+                results[i] = BatchResultDTO.error(i, id, 404, label + " not found");
+                return false;
+            }
+            if (!owner.getId().equals(user.getId())) {
+                results[i] = BatchResultDTO.error(i, id, 403, "Unauthorized access");
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Resolve the target folder (null = root) and hand it to the setter
+         */
+        boolean assignTargetFolder(int i, Long folderId, Consumer<Folder> setter) {
+            if (folderId == null) {
+                setter.accept(null);
+                return true;
+            }
+            Folder target = folders.get(folderId);
+            if (target == null) {
+                results[i] = BatchResultDTO.error(i, null, 404, "Folder not found");
+                return false;
+            }
+            if (!Objects.equals(target.getUser().getId(), user.getId())) {
+                results[i] = BatchResultDTO.error(i, null, 403, "Unauthorized access");
+                return false;
+            }
+            setter.accept(target);
+            return true;
+        }
+
+        void done(int i, Long id, int status, String eventType) {
+            results[i] = BatchResultDTO.ok(i, id, status);
+            events.add(new ChangeEvent(user.getId(), eventType, id));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Knowledge base search, filtered entirely in SQL.
+ * Only the filters that are set end up in the WHERE clause, so each search gets a plan for its own predicates:
+ * - Text: case-insensitive substring of the title (file name for documents), optionally the note content too
+ *   (trigram indexes, V5)
+ * - Folder: the folder and all its subfolders (folder_closure)
+ * - Last change: an inclusive range of days on updated_at
+ */
+@Service
+@RequiredArgsConstructor
+public class KnowledgeBaseSearchService {
+
+    public static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Search a user's notes and documents
+     *
+     * @param folderId     only search this folder and its subfolders (null = everywhere)
+     * @param type         "note", "document", or null for both
+     * @param titleOnly    skip note contents
+     * @param updatedFrom  first day of the last-change range (null = open)
+     * @param updatedTo    last day of the last-change range (null = open)
+     * @param limit        maximum results per type, most recently changed first
+     * @return "notes" and "documents" lists
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> search(User user, String query, Long folderId, String type, boolean titleOnly,
+            LocalDate updatedFrom, LocalDate updatedTo, int limit) {
+        String pattern = "%" + escapeLike(query.toLowerCase()) + "%";
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        List<Map<String, Object>> notes = new ArrayList<>();
+        if (type == null || type.equals("note")) {
+            String textFilter = titleOnly
+                    ? "lower(title) LIKE ? ESCAPE '\\'"
+                    : "(lower(title) LIKE ? ESCAPE '\\' OR id IN "
+                            + "(SELECT note_id FROM note_contents WHERE lower(content) LIKE ? ESCAPE '\\'))";
+            List<Object> args = new ArrayList<>(List.of(pattern));
+            if (!titleOnly) {
+                args.add(pattern);
+            }
+            String sql = "SELECT id, title, folder_id, updated_at FROM notes WHERE user_id = ? AND " + textFilter
+                    + filters(user, folderId, updatedFrom, updatedTo, args, max);
+            jdbcTemplate.query(sql, rs -> {
+                Map<String, Object> map = new HashMap<>();
+                map.put("id", rs.getLong("id"));
+                map.put("title", rs.getString("title"));
+                map.put("type", "note");
+                map.put("folderId", rs.getObject("folder_id", Long.class));
+                map.put("updatedAt", toLocalDateTime(rs.getTimestamp("updated_at")));
+                notes.add(map);
+            }, args.toArray());
+        }
+
+        List<Map<String, Object>> documents = new ArrayList<>();
+        if (type == null || type.equals("document")) {
+            List<Object> args = new ArrayList<>(List.of(pattern));
+            String sql = "SELECT id, file_name, folder_id, updated_at FROM documents "
+                    + "WHERE user_id = ? AND lower(file_name) LIKE ? ESCAPE '\\'"
+                    + filters(user, folderId, updatedFrom, updatedTo, args, max);
+            jdbcTemplate.query(sql, rs -> {
+                Map<String, Object> map = new HashMap<>();
+                map.put("id", rs.getLong("id"));
+                map.put("fileName", rs.getString("file_name"));
+                map.put("type", "document");
+                map.put("folderId", rs.getObject("folder_id", Long.class));
+                map.put("updatedAt", toLocalDateTime(rs.getTimestamp("updated_at")));
+                documents.add(map);
+            }, args.toArray());
+        }
+
+        Map<String, Object> results = new HashMap<>();
+        results.put("notes", notes);
+        results.put("documents", documents);
+        return results;
+    }
+
+    /**
+     * The optional filters, ORDER BY and LIMIT; the user id goes first in {@code args}
+     */
+    private String filters(User user, Long folderId, LocalDate updatedFrom, LocalDate updatedTo,
+            List<Object> args, int limit) {
+        args.add(0, user.getId());
+        StringBuilder sql = new StringBuilder();
+        if (folderId != null) {
+            sql.append(" AND folder_id IN (SELECT descendant_id FROM folder_closure WHERE ancestor_id = ?)");
+            args.add(folderId);
+        }
+        if (updatedFrom != null) {
+            sql.append(" AND updated_at >= ?");
+            args.add(Timestamp.valueOf(updatedFrom.atStartOfDay()));
+        }
+        if (updatedTo != null) {
+            sql.append(" AND updated_at < ?");
+            args.add(Timestamp.valueOf(updatedTo.plusDays(1).atStartOfDay()));
+        }
+        sql.append(" ORDER BY updated_at DESC NULLS LAST, id DESC LIMIT ?");
+        args.add(limit);
+        return sql.toString();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static Object toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,518 @@
+package com.lite.lite_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lite.lite_backend.dto.DocumentTreeDTO;
+import com.lite.lite_backend.dto.FolderTreeDTO;
+import com.lite.lite_backend.dto.NoteTreeDTO;
+import com.lite.lite_backend.dto.TreeNodeDTO;
+import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.repository.DocumentRepository;
+import com.lite.lite_backend.repository.FolderRepository;
+import com.lite.lite_backend.repository.NoteRepository;
+import com.lite.lite_backend.util.DataVersionRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * In-memory copy of each active user's knowledge base tree (folder names, note titles, document links).
+ * - Built with three header queries the first time a user's tree is read
+ * - Kept up to date by small patches from the write paths, instead of being rebuilt
+ * - Writers that change many items at once (batch, import) drop the copy instead
+ * - Bounded: least recently used users are evicted, and a copy is dropped {@code ttlMinutes} after it was built
+ *   (patched or not), so it can never drift for long from the database
+ * - Each copy knows the knowledge base version ({@link DataVersionRegistry}) it shows: patches move it
+ *   along with the version, and a copy behind the stored version (written by another instance) is rebuilt
+ *
+ * Patches and drops made inside a transaction are applied after commit.
+ */
+@Service
+public class KnowledgeBaseTreeCache {
+
+    // Limits of lazy expansion, so one request stays small whatever the tree looks like
+    public static final int MAX_DEPTH = 5;
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_NODES = 5000;
+
+    private final FolderRepository folderRepository;
+    private final NoteRepository noteRepository;
+    private final DocumentRepository documentRepository;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<Long, UserTree> trees;
+
+    public KnowledgeBaseTreeCache(FolderRepository folderRepository,
+            NoteRepository noteRepository,
+            DocumentRepository documentRepository,
+            DataVersionRegistry dataVersionRegistry,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${lite.kb.tree-cache.max-users:5000}") long maxUsers,
+            @Value("${lite.kb.tree-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.folderRepository = folderRepository;
+        this.noteRepository = noteRepository;
+        this.documentRepository = documentRepository;
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, trees, "kb_tree");
+        dataVersionRegistry.addListener(this::versionChanged);
+    }
+
+    // ============================================
+    // Reads
+    // ============================================
+
+    /**
+     * Get the whole tree of a user under a virtual root
+     */
+    public FolderTreeDTO getTree(User user) {
+        return getTree(user, currentVersion(user));
+    }
+
+    /**
+     * Get the whole tree of a user, with the knowledge base version the caller read (before, e.g. for the ETag),
+     * so an up-to-date snapshot is served without touching the database
+     */
+    public FolderTreeDTO getTree(User user, long version) {
+        UserTree tree = trees.get(user.getId(), id -> new UserTree());
+        Snapshot snapshot = snapshot(user, tree, version);
+        synchronized (tree) {
+            return snapshot.renderRoot();
+        }
+    }
+
+    /**
+     * Get one folder of a user with everything below it
+     *
+     * @return the folder, or null when the user has no such folder
+     */
+    public FolderTreeDTO getFolder(User user, Long folderId) {
+        UserTree tree = trees.get(user.getId(), id -> new UserTree());
+        Snapshot snapshot = snapshot(user, tree, currentVersion(user));
+        synchronized (tree) {
+            FolderNode folder = snapshot.folders.get(folderId);
+            return folder != null ? snapshot.render(folder) : null;
+        }
+    }
+
+    /**
+     * Get a folder with its children, expanded lazily
+     * - {@code depth} levels of children (1 = immediate children only)
+     * - The folder's own children are paged with {@code offset} / {@code limit};
+     *   deeper levels show their first {@code limit} children
+     * - Every folder carries its child counts and a hasChildren flag, expanded or not
+     * - Expansion stops after {@value #MAX_NODES} nodes; folders past that point are returned unexpanded
+     *
+     * @param version  the knowledge base version the caller read (before, e.g. for the ETag)
+     * @param folderId the folder, or null for the root
+     * @return the node, or null when the user has no such folder
+     */
+    public TreeNodeDTO expand(User user, long version, Long folderId, int depth, int offset, int limit) {
+        UserTree tree = trees.get(user.getId(), id -> new UserTree());
+        Snapshot snapshot = snapshot(user, tree, version);
+        synchronized (tree) {
+            FolderNode folder = folderId != null ? snapshot.folders.get(folderId) : snapshot.root;
+            if (folder == null) {
+                return null;
+            }
+            return snapshot.expand(folder, clamp(depth, 0, MAX_DEPTH), Math.max(offset, 0),
+                    clamp(limit, 1, MAX_PAGE_SIZE), new int[] { MAX_NODES });
+        }
+    }
+
+    /**
+     * Expand several folders in one call (first page of each); unknown ids are left out
+     */
+    public List<TreeNodeDTO> expandAll(User user, Collection<Long> folderIds, int depth, int limit) {
+        UserTree tree = trees.get(user.getId(), id -> new UserTree());
+        Snapshot snapshot = snapshot(user, tree, currentVersion(user));
+        synchronized (tree) {
+            int[] budget = { MAX_NODES };
+            List<TreeNodeDTO> nodes = new ArrayList<>();
+            for (Long folderId : folderIds) {
+                FolderNode folder = snapshot.folders.get(folderId);
+                if (folder != null) {
+                    nodes.add(snapshot.expand(folder, clamp(depth, 0, MAX_DEPTH), 0,
+                            clamp(limit, 1, MAX_PAGE_SIZE), budget));
+                }
+            }
+            return nodes;
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(value, max));
+    }
+
+    // Read the version before the data, so the snapshot is never labelled newer than it is
+    private long currentVersion(User user) {
+        return dataVersionRegistry.version(DataVersionRegistry.Scope.KNOWLEDGE_BASE, user.getId());
+    }
+
+    /**
+     * Get the user's snapshot, building it when missing or behind the given version.
+     * The queries run outside the lock, in one read-only transaction; the result is only installed
+     * if no write happened meanwhile.
+     */
+    private Snapshot snapshot(User user, UserTree tree, long version) {
+        long generation;
+        synchronized (tree) {
+            if (tree.snapshot != null && tree.snapshot.version == version) {
+                return tree.snapshot;
+            }
+            generation = tree.generation;
+        }
+
+        Snapshot built = new Snapshot(version);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            folderRepository.findHeadersByUser(user)
+                    .forEach(f -> built.folders.put(f.getId(),
+                            new FolderNode(f.getId(), f.getName(), f.getParentFolderId())));
+            built.folders.values().forEach(built::link);
+            noteRepository.findHeadersByUser(user)
+                    .forEach(n -> built.putNote(new NoteLeaf(n.getId(), n.getTitle(), n.getFolderId())));
+            documentRepository.findHeadersByUser(user)
+                    .forEach(d -> built.putDocument(
+                            new DocumentLeaf(d.getId(), d.getFileName(), d.getDocumentUrl(), d.getFolderId())));
+        });
+
+        synchronized (tree) {
+            if (tree.generation == generation) {
+                tree.snapshot = built;
+            }
+            // Otherwise a write raced the build: serve this copy once, don't keep it
+            return built;
+        }
+    }
+
+    /**
+     * A write of this instance committed a new version. Its patches have run already (they take
+     * precedence), so a snapshot at the version before is now at this one; any other gap means
+     * a write this instance has not seen, and the snapshot is dropped.
+     */
+    private void versionChanged(DataVersionRegistry.Scope scope, Long userId, long version) {
+        if (scope != DataVersionRegistry.Scope.KNOWLEDGE_BASE) {
+            return;
+        }
+        UserTree tree = trees.getIfPresent(userId);
+        if (tree == null) {
+            return;
+        }
+        synchronized (tree) {
+            if (tree.snapshot != null && tree.snapshot.version == version - 1) {
+                tree.snapshot.version = version;
+            } else {
+                tree.generation++;
+                tree.snapshot = null;
+            }
+        }
+    }
+
+    // ============================================
+    // Patches
+    // ============================================
+
+    public void folderSaved(User user, Long id, String name, Long parentFolderId) {
+        patch(user.getId(), snapshot -> {
+            FolderNode folder = snapshot.folders.get(id);
+            if (folder == null) {
+                folder = new FolderNode(id, name, parentFolderId);
+                snapshot.folders.put(id, folder);
+            } else {
+                snapshot.unlink(folder);
+                folder.name = name;
+                folder.parentId = parentFolderId;
+            }
+            snapshot.link(folder);
+        });
+    }
+
+    public void folderDeleted(User user, Long id) {
+        patch(user.getId(), snapshot -> snapshot.removeFolder(id));
+    }
+
+    public void noteSaved(User user, Long id, String title, Long folderId) {
+        patch(user.getId(), snapshot -> snapshot.putNote(new NoteLeaf(id, title, folderId)));
+    }
+
+    public void noteDeleted(User user, Long id) {
+        patch(user.getId(), snapshot -> snapshot.removeNote(id));
+    }
+
+    public void documentSaved(User user, Long id, String fileName, String documentUrl, Long folderId) {
+        patch(user.getId(), snapshot -> snapshot.putDocument(new DocumentLeaf(id, fileName, documentUrl, folderId)));
+    }
+
+    public void documentDeleted(User user, Long id) {
+        patch(user.getId(), snapshot -> snapshot.removeDocument(id));
+    }
+
+    /**
+     * Forget a user's tree; the next read rebuilds it (for writes too large to patch)
+     */
+    public void invalidate(Long userId) {
+        afterCommit(() -> {
+            UserTree tree = trees.getIfPresent(userId);
+            if (tree != null) {
+                synchronized (tree) {
+                    tree.generation++;
+                    tree.snapshot = null;
+                }
+            }
+        });
+    }
+
+    private void patch(Long userId, Consumer<Snapshot> change) {
+        afterCommit(() -> {
+            UserTree tree = trees.getIfPresent(userId);
+            if (tree == null) {
+                return;
+            }
+            synchronized (tree) {
+                tree.generation++;
+                if (tree.snapshot != null) {
+                    change.accept(tree.snapshot);
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    // Before the version listener (versionChanged) of the same transaction
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ============================================
+    // Snapshot
+    // ============================================
+
+    /**
+     * Cache entry of one user; the lock for the snapshot and its generation
+     */
+    private static class UserTree {
+        private long generation; // Bumped by every patch, so a build started before it is discarded
+        private Snapshot snapshot;
+    }
+
+    private static class Snapshot {
+        private long version; // Knowledge base version this snapshot shows
+        private final Map<Long, FolderNode> folders = new HashMap<>();
+        private final Map<Long, NoteLeaf> notes = new HashMap<>();
+        private final Map<Long, DocumentLeaf> documents = new HashMap<>();
+        private final FolderNode root = new FolderNode(null, "Root", null);
+
+        Snapshot(long version) {
+            this.version = version;
+        }
+
+        // A folder whose parent is unknown is shown at the root, like a root folder
+        private FolderNode container(Long folderId) {
+            FolderNode folder = folderId != null ? folders.get(folderId) : null;
+            return folder != null ? folder : root;
+        }
+
+        void link(FolderNode folder) {
+            container(folder.parentId).subFolderIds.add(folder.id);
+        }
+
+        void unlink(FolderNode folder) {
+            container(folder.parentId).subFolderIds.remove(folder.id);
+        }
+
+        void putNote(NoteLeaf note) {
+            removeNote(note.id);
+            notes.put(note.id, note);
+            container(note.folderId).noteIds.add(note.id);
+        }
+
+        void removeNote(Long id) {
+            NoteLeaf previous = notes.remove(id);
+            if (previous != null) {
+                container(previous.folderId).noteIds.remove(id);
+            }
+        }
+
+        void putDocument(DocumentLeaf document) {
+            removeDocument(document.id);
+            documents.put(document.id, document);
+            container(document.folderId).documentIds.add(document.id);
+        }
+
+        void removeDocument(Long id) {
+            DocumentLeaf previous = documents.remove(id);
+            if (previous != null) {
+                container(previous.folderId).documentIds.remove(id);
+            }
+        }
+
+        // Deleting a folder cascades to everything inside it
+        void removeFolder(Long id) {
+            FolderNode folder = folders.get(id);
+            if (folder == null) {
+                return;
+            }
+            new ArrayList<>(folder.subFolderIds).forEach(this::removeFolder);
+            new ArrayList<>(folder.noteIds).forEach(this::removeNote);
+            new ArrayList<>(folder.documentIds).forEach(this::removeDocument);
+            unlink(folder);
+            folders.remove(id);
+        }
+
+        /**
+         * Render a folder and {@code depth} levels below it; {@code budget} counts the nodes left
+         */
+        TreeNodeDTO expand(FolderNode folder, int depth, int offset, int limit, int[] budget) {
+            TreeNodeDTO dto = new TreeNodeDTO();
+            dto.setId(folder.id);
+            dto.setName(folder.name);
+            dto.setType("folder");
+            dto.setFolderCount(folder.subFolderIds.size());
+            dto.setNoteCount(folder.noteIds.size());
+            dto.setDocumentCount(folder.documentIds.size());
+            int total = folder.subFolderIds.size() + folder.noteIds.size() + folder.documentIds.size();
+            dto.setHasChildren(total > 0);
+            if (depth == 0 || budget[0] <= 0) {
+                return dto;
+            }
+
+            // Children in tree order: folders, then notes, then documents
+            List<TreeNodeDTO> children = new ArrayList<>();
+            int index = 0;
+            int end = Math.min(total, offset + limit);
+            for (Long id : folder.subFolderIds) {
+                if (index >= end || budget[0] <= 0) {
+                    break;
+                }
+                if (index++ >= offset) {
+                    budget[0]--;
+                    children.add(expand(folders.get(id), depth - 1, 0, limit, budget));
+                }
+            }
+            for (Long id : folder.noteIds) {
+                if (index >= end || budget[0] <= 0) {
+                    break;
+                }
+                if (index++ >= offset) {
+                    budget[0]--;
+                    NoteLeaf note = notes.get(id);
+                    TreeNodeDTO noteDto = new TreeNodeDTO();
+                    noteDto.setId(note.id);
+                    noteDto.setName(note.title);
+                    noteDto.setType("note");
+                    children.add(noteDto);
+                }
+            }
+            for (Long id : folder.documentIds) {
+                if (index >= end || budget[0] <= 0) {
+                    break;
+                }
+                if (index++ >= offset) {
+                    budget[0]--;
+                    DocumentLeaf document = documents.get(id);
+                    TreeNodeDTO docDto = new TreeNodeDTO();
+                    docDto.setId(document.id);
+                    docDto.setName(document.fileName);
+                    docDto.setType("document");
+                    docDto.setDocumentUrl(document.documentUrl);
+                    children.add(docDto);
+                }
+            }
+
+            dto.setChildren(children);
+            int next = Math.min(offset, total) + children.size();
+            if (next < total) {
+                dto.setNextOffset(next);
+            }
+            return dto;
+        }
+
+        FolderTreeDTO renderRoot() {
+            return render(root);
+        }
+
+        FolderTreeDTO render(FolderNode folder) {
+            FolderTreeDTO dto = new FolderTreeDTO();
+            dto.setId(folder.id);
+            dto.setName(folder.name);
+            folder.subFolderIds.stream()
+                    .map(folders::get)
+                    .filter(Objects::nonNull)
+                    .forEach(subFolder -> dto.getSubFolders().add(render(subFolder)));
+            folder.noteIds.forEach(noteId -> {
+                NoteLeaf note = notes.get(noteId);
+                NoteTreeDTO noteDto = new NoteTreeDTO();
+                noteDto.setId(note.id);
+                noteDto.setTitle(note.title);
+                dto.getNotes().add(noteDto);
+            });
+            folder.documentIds.forEach(documentId -> {
+                DocumentLeaf document = documents.get(documentId);
+                DocumentTreeDTO docDto = new DocumentTreeDTO();
+                docDto.setId(document.id);
+                docDto.setFileName(document.fileName);
+                docDto.setDocumentUrl(document.documentUrl);
+                dto.getDocuments().add(docDto);
+            });
+            return dto;
+        }
+    }
+
+    private static class FolderNode {
+        private final Long id;
+        private String name;
+        private Long parentId;
+        private final Set<Long> subFolderIds = new LinkedHashSet<>();
+        private final Set<Long> noteIds = new LinkedHashSet<>();
+        private final Set<Long> documentIds = new LinkedHashSet<>();
+
+        FolderNode(Long id, String name, Long parentId) {
+            this.id = id;
+            this.name = name;
+            this.parentId = parentId;
+        }
+    }
+
+    private record NoteLeaf(Long id, String title, Long folderId) {
+    }
+
+    private record DocumentLeaf(Long id, String fileName, String documentUrl, Long folderId) {
+    }
+}
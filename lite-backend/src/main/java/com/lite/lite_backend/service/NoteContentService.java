@@ -0,0 +1,78 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.entity.Note;
+import com.lite.lite_backend.entity.NoteContent;
+import com.lite.lite_backend.repository.NoteContentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes note bodies (note_contents), so only the paths that need a body load one:
+ * opening a note, saving it, versioning, sync and export.
+ */
+@Service
+@RequiredArgsConstructor
+public class NoteContentService {
+
+    private final NoteContentRepository noteContentRepository;
+
+    /**
+     * Body of a note (null when it has none)
+     */
+    public String getContent(Long noteId) {
+        return noteContentRepository.findById(noteId).map(NoteContent::getContent).orElse(null);
+    }
+
+    /**
+     * Bodies of several notes in one query; notes without a body are left out
+     */
+    public Map<Long, String> getContents(Collection<Long> noteIds) {
+        return noteContentRepository.findAllById(noteIds).stream()
+                .filter(body -> body.getContent() != null)
+                .collect(Collectors.toMap(NoteContent::getNoteId, NoteContent::getContent));
+    }
+
+    /**
+     * Store the body of a note that was just created
+     */
+    @Transactional
+    public void createContent(Long noteId, String content) {
+        noteContentRepository.save(new NoteContent(noteId, content, true));
+    }
+
+    /**
+     * Store the bodies of notes that were just created (one batch)
+     */
+    @Transactional
+    public void createContents(Map<Long, String> contents) {
+        List<NoteContent> bodies = contents.entrySet().stream()
+                .map(entry -> new NoteContent(entry.getKey(), entry.getValue(), true))
+                .collect(Collectors.toList());
+        noteContentRepository.saveAll(bodies);
+    }
+
+    /**
+     * Change the body of an existing note. The body lives in another table, so a changed body
+     * bumps the note's updatedAt itself (sync cursors and Last-Modified rely on it).
+     */
+    @Transactional
+    public void setContent(Note note, String content) {
+        Optional<NoteContent> existing = noteContentRepository.findById(note.getId());
+        if (existing.isPresent() && Objects.equals(existing.get().getContent(), content)) {
+            return;
+        }
+        NoteContent body = existing.orElseGet(() -> new NoteContent(note.getId(), null, true));
+        body.setContent(content);
+        noteContentRepository.save(body);
+        note.setUpdatedAt(LocalDateTime.now());
+    }
+}
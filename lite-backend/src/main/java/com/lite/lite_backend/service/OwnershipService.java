@@ -0,0 +1,78 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.exception.DomainException;
+import com.lite.lite_backend.exception.ForbiddenException;
+import com.lite.lite_backend.exception.NotFoundException;
+import com.lite.lite_backend.repository.OwnedRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Resolves the user's own entities through the owner-scoped repository queries
+ * - The happy path is one owner-filtered statement (no load-then-compare)
+ * - Only when nothing matched, a primary key lookup tells a missing id ({@link NotFoundException})
+ *   from someone else's ({@link ForbiddenException})
+ * - {@link #findOwned} and {@link #denied} let hot read paths answer the error without throwing it
+ */
+@Service
+public class OwnershipService {
+
+    /**
+     * Load an entity of the user
+     *
+     * @param label entity name used in the "not found" message (e.g. "Note")
+     */
+    public <T, R extends JpaRepository<T, Long> & OwnedRepository<T>> T requireOwned(
+            R repository, Long id, Long userId, String label) {
+        return repository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> denied(repository, id, label));
+    }
+
+    /**
+     * Find an entity of the user; empty when the id is missing or someone else's (see {@link #denied})
+     */
+    public <T, R extends JpaRepository<T, Long> & OwnedRepository<T>> Optional<T> findOwned(
+            R repository, Long id, Long userId) {
+        return repository.findByIdAndUserId(id, userId);
+    }
+
+    /**
+     * Get a reference to an entity of the user, checked with an exists query instead of loading it
+     * (for associations such as the target folder of a move)
+     */
+    public <T, R extends JpaRepository<T, Long> & OwnedRepository<T>> T requireReference(
+            R repository, Long id, Long userId, String label) {
+        checkOwned(repository, id, userId, label);
+        return repository.getReferenceById(id);
+    }
+
+    /**
+     * Check that an entity belongs to the user, without loading it
+     */
+    public <T, R extends JpaRepository<T, Long> & OwnedRepository<T>> void checkOwned(
+            R repository, Long id, Long userId, String label) {
+        if (!repository.existsByIdAndUserId(id, userId)) {
+            throw denied(repository, id, label);
+        }
+    }
+
+    /**
+     * Check the row count of an owner-filtered update / delete (0 means the id was missing or foreign)
+     */
+    public void checkAffected(int rows, JpaRepository<?, Long> repository, Long id, String label) {
+        if (rows == 0) {
+            throw denied(repository, id, label);
+        }
+    }
+
+    /**
+     * The error for an id that didn't match the owner filter
+     */
+    public DomainException denied(JpaRepository<?, Long> repository, Long id, String label) {
+        return repository.existsById(id)
+                ? new ForbiddenException()
+                : new NotFoundException(label);
+    }
+}
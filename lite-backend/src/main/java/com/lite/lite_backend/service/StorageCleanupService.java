@@ -0,0 +1,99 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.event.StoredFilesReleasedEvent;
+import com.lite.lite_backend.repository.DocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Removes uploaded files from Cloudinary after the rows pointing to them were deleted.
+ * - Runs on a single background thread, so deletes never wait for the storage API
+ * - Only files of this Cloudinary account are deleted; any other URL is left alone (result=foreign)
+ * - A file still referenced by any document or CV is kept, whatever the URL version or format
+ *   (re-uploads with the same name overwrite the same file): references are compared by
+ *   {@link CloudinaryService.StoredFile#key()}, the same key that gets deleted
+ * - Failures are counted (lite.storage.cleanup{result=failed}) and not retried;
+ *   the file is only left behind, no user data is lost
+ */
+@Service
+public class StorageCleanupService {
+
+    private final CloudinaryService cloudinaryService;
+    private final DocumentRepository documentRepository;
+    private final ExecutorService cleaner;
+    private final Counter deleted;
+    private final Counter kept;
+    private final Counter failed;
+    private final Counter foreign;
+
+    public StorageCleanupService(CloudinaryService cloudinaryService,
+            DocumentRepository documentRepository,
+            MeterRegistry meterRegistry) {
+        this.cloudinaryService = cloudinaryService;
+        this.documentRepository = documentRepository;
+        this.cleaner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deleted = meterRegistry.counter("lite.storage.cleanup", "result", "deleted");
+        this.kept = meterRegistry.counter("lite.storage.cleanup", "result", "kept");
+        this.failed = meterRegistry.counter("lite.storage.cleanup", "result", "failed");
+        this.foreign = meterRegistry.counter("lite.storage.cleanup", "result", "foreign");
+    }
+
+    /**
+     * Queue the released files once the delete is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFilesReleased(StoredFilesReleasedEvent event) {
+        if (event.urls().isEmpty()) {
+            return;
+        }
+        cleaner.execute(() -> event.urls().stream().distinct().forEach(this::deleteIfUnused));
+    }
+
+    private void deleteIfUnused(String url) {
+        try {
+            CloudinaryService.StoredFile file = cloudinaryService.parseUrl(url);
+            if (file == null) {
+                foreign.increment();
+                return;
+            }
+            if (isReferenced(file)) {
+                kept.increment();
+                return;
+            }
+            cloudinaryService.deleteFile(file);
+            deleted.increment();
+        } catch (Exception e) {
+            failed.increment();
+        }
+    }
+
+    /**
+     * Whether any document or CV still points to the file.
+     * Candidates end with the public id (found through the reverse(url) indexes); each is then parsed,
+     * so only URLs of this account with the same key count.
+     */
+    private boolean isReferenced(CloudinaryService.StoredFile file) {
+        String reversedId = new StringBuilder("/" + file.publicId()).reverse().toString()
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        // Raw URLs end with the public id; other types add a format, which may differ between references
+        String pattern = file.resourceType().equals("raw") ? reversedId + "%" : "%." + reversedId + "%";
+        return documentRepository.findFileUrlsByReversedPattern(pattern).stream()
+                .map(cloudinaryService::parseUrl)
+                .anyMatch(candidate -> candidate != null && candidate.key().equals(file.key()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        cleaner.shutdown();
+    }
+}
@@ -0,0 +1,201 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.dto.*;
+import com.lite.lite_backend.entity.*;
+import com.lite.lite_backend.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    // How long deletes are remembered; clients with an older cursor get a full resync
+    private static final Duration TOMBSTONE_RETENTION = Duration.ofDays(30);
+
+    private final FolderRepository folderRepository;
+    private final NoteRepository noteRepository;
+    private final DocumentRepository documentRepository;
+    private final TaskRepository taskRepository;
+    private final JobApplicationRepository jobApplicationRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final NoteContentService noteContents;
+
+    /**
+     * Get the currently logged-in user
+     */
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (User) authentication.getPrincipal();
+    }
+
+    /**
+     * Get everything that changed for the logged-in user since a cursor
+     * - No cursor (or one from before purged deletes, or not issued by this database): everything,
+     *   flagged as full resync
+     * - Otherwise: entities created/updated and deletes recorded by transactions at or after the cursor
+     *
+     * The cursor is a transaction id (V10): the oldest transaction still running when this sync
+     * started reading. Whatever commits later has an id at or after it, however long it ran,
+     * so it comes with the next sync. Rows may come twice (clients upsert by id).
+     *
+     * @param since the cursor returned by the previous sync, or null
+     */
+    @Transactional(readOnly = true)
+    public SyncResponseDTO getChanges(Long since) {
+        User currentUser = getCurrentUser();
+        // Read before the data: a transaction that commits during the reads is at or after the cursor
+        TombstoneRepository.SyncSnapshot snapshot = tombstoneRepository.currentSyncSnapshot(currentUser.getId());
+
+        SyncResponseDTO response = new SyncResponseDTO();
+        response.setCursor(snapshot.getXmin());
+
+        boolean fullResync = since == null || since > snapshot.getXmax() || since <= snapshot.getPurgedXid();
+        response.setFullResync(fullResync);
+
+        if (fullResync) {
+            response.setFolders(toFolderDTOs(folderRepository.findByUser(currentUser)));
+            response.setNotes(toNoteDTOs(noteRepository.findByUser(currentUser)));
+            response.setDocuments(toDocumentDTOs(documentRepository.findByUser(currentUser)));
+            response.setTasks(toTaskDTOs(taskRepository.findByUser(currentUser)));
+            response.setJobApplications(toJobApplicationDTOs(jobApplicationRepository.findByUser(currentUser)));
+            return response;
+        }
+
+        Long userId = currentUser.getId();
+        response.setFolders(toFolderDTOs(folderRepository.findChangedSince(userId, since)));
+        response.setNotes(toNoteDTOs(noteRepository.findChangedSince(userId, since)));
+        response.setDocuments(toDocumentDTOs(documentRepository.findChangedSince(userId, since)));
+        response.setTasks(toTaskDTOs(taskRepository.findChangedSince(userId, since)));
+        response.setJobApplications(toJobApplicationDTOs(jobApplicationRepository.findChangedSince(userId, since)));
+        response.setDeleted(tombstoneRepository.findChangedSince(userId, since).stream()
+                .map(t -> new TombstoneDTO(t.getEntityType(), t.getEntityId()))
+                .collect(Collectors.toList()));
+
+        return response;
+    }
+
+    /**
+     * Remember that an entity was deleted
+     */
+    public void recordDelete(User user, String entityType, Long entityId) {
+        tombstoneRepository.save(newTombstone(user, entityType, entityId));
+    }
+
+    /**
+     * Remember that several entities of the same type were deleted (one batched insert)
+     */
+    public void recordDeletes(User user, String entityType, Collection<Long> entityIds) {
+        tombstoneRepository.saveAll(entityIds.stream()
+                .map(entityId -> newTombstone(user, entityType, entityId))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Remember that a folder was deleted, together with everything it contains
+     * (one statement; must run before the subtree is deleted)
+     */
+    public void recordFolderDelete(User user, Folder folder) {
+        tombstoneRepository.insertForFolderSubtree(user.getId(), folder.getId(), LocalDateTime.now());
+    }
+
+    private Tombstone newTombstone(User user, String entityType, Long entityId) {
+        Tombstone tombstone = new Tombstone();
+        tombstone.setUser(user);
+        tombstone.setEntityType(entityType);
+        tombstone.setEntityId(entityId);
+        return tombstone;
+    }
+
+    /**
+     * Purge tombstones past the retention window (every night at 3am);
+     * clients whose cursor predates a purged delete get a full resync
+     */
+    @Scheduled(cron = "0 0 3 * * *")
+    @Transactional
+    public void purgeTombstones() {
+        tombstoneRepository.purgeOlderThan(LocalDateTime.now().minus(TOMBSTONE_RETENTION));
+    }
+
+    // ============================================
+    // Entity to DTO conversion
+    // ============================================
+
+    private List<FolderDTO> toFolderDTOs(List<Folder> folders) {
+        return folders.stream()
+                .map(folder -> {
+                    FolderDTO dto = new FolderDTO();
+                    dto.setId(folder.getId());
+                    dto.setName(folder.getName());
+                    dto.setParentFolderId(folder.getParentFolder() != null ? folder.getParentFolder().getId() : null);
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private List<NoteDTO> toNoteDTOs(List<Note> notes) {
+        Map<Long, String> contents = noteContents.getContents(notes.stream().map(Note::getId).toList());
+        return notes.stream()
+                .map(note -> {
+                    NoteDTO dto = new NoteDTO();
+                    dto.setId(note.getId());
+                    dto.setTitle(note.getTitle());
+                    dto.setContent(contents.get(note.getId()));
+                    dto.setFolderId(note.getFolder() != null ? note.getFolder().getId() : null);
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private List<DocumentDTO> toDocumentDTOs(List<Document> documents) {
+        return documents.stream()
+                .map(doc -> {
+                    DocumentDTO dto = new DocumentDTO();
+                    dto.setId(doc.getId());
+                    dto.setFileName(doc.getFileName());
+                    dto.setDocumentUrl(doc.getDocumentUrl());
+                    dto.setFolderId(doc.getFolder() != null ? doc.getFolder().getId() : null);
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private List<TaskDTO> toTaskDTOs(List<Task> tasks) {
+        return tasks.stream()
+                .map(task -> new TaskDTO(
+                        task.getId(),
+                        task.getTitle(),
+                        task.getDescription(),
+                        task.getStatus(),
+                        task.getPosition(),
+                        task.getDueDate(),
+                        task.getCreatedAt(),
+                        task.getUpdatedAt()))
+                .collect(Collectors.toList());
+    }
+
+    private List<JobApplicationDTO> toJobApplicationDTOs(List<JobApplication> jobApplications) {
+        return jobApplications.stream()
+                .map(job -> new JobApplicationDTO(
+                        job.getId(),
+                        job.getCompany(),
+                        job.getWayOfApplying(),
+                        job.getContact(),
+                        job.getStatus(),
+                        job.getDateApplied(),
+                        job.getJobDescription(),
+                        job.getCvUrl()))
+                .collect(Collectors.toList());
+    }
+}
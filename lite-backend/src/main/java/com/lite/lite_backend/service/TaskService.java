@@ -1,15 +1,37 @@
 package com.lite.lite_backend.service;
 
+import com.lite.lite_backend.dto.BatchOperationDTO;
+import com.lite.lite_backend.dto.BatchResultDTO;
 import com.lite.lite_backend.dto.TaskDTO;
 import com.lite.lite_backend.entity.Task;
+import com.lite.lite_backend.entity.TaskStatus;
+import com.lite.lite_backend.entity.Tombstone;
 import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.event.ChangeEvent;
+import com.lite.lite_backend.exception.DomainException;
 import com.lite.lite_backend.repository.TaskRepository;
+import com.lite.lite_backend.util.DataVersionRegistry;
+import com.lite.lite_backend.util.UserDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,6 +39,12 @@ import java.util.stream.Collectors;
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final OwnershipService ownership;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final UserDataCache userDataCache;
+    private final SyncService syncService;
+    private final DashboardCounterService dashboardCounters;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get the currently logged-in user
@@ -41,47 +69,60 @@ public class TaskService {
                 task.getUpdatedAt());
     }
 
+    /**
+     * Get the version of the logged-in user's tasks (changes on every task write), for the list's ETag;
+     * read it before the list
+     */
+    public long getTasksVersion() {
+        return dataVersionRegistry.version(DataVersionRegistry.Scope.TASKS, getCurrentUser().getId());
+    }
+
     /**
      * Get all tasks for the logged-in user, ordered by position
+     *
+     * @param version the version read by {@link #getTasksVersion()}; a cache hit needs no other read
      */
-    public List<TaskDTO> getAllTasks() {
+    public List<TaskDTO> getAllTasks(long version) {
         User currentUser = getCurrentUser();
-        List<Task> tasks = taskRepository.findByUserOrderByPositionAsc(currentUser);
-        return tasks.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return userDataCache.get(DataVersionRegistry.Scope.TASKS, currentUser.getId(), version, "all",
+                () -> taskRepository.findByUserOrderByPositionAsc(currentUser).stream()
+                        .map(this::convertToDTO)
+                        .toList());
     }
 
     /**
      * Get tasks by status (for Kanban columns)
      */
-    public List<TaskDTO> getTasksByStatus(String status) {
+    public List<TaskDTO> getTasksByStatus(TaskStatus status) {
         User currentUser = getCurrentUser();
-        List<Task> tasks = taskRepository.findByUserAndStatusOrderByPositionAsc(currentUser, status);
-        return tasks.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return userDataCache.get(DataVersionRegistry.Scope.TASKS, currentUser.getId(), "status:" + status.name(),
+                () -> taskRepository.findByUserAndStatusOrderByPositionAsc(currentUser, status).stream()
+                        .map(this::convertToDTO)
+                        .toList());
     }
 
     /**
-     * Get a single task by ID
+     * Find a single task by ID; empty when it is missing or someone else's (see {@link #taskDenied})
      */
-    public TaskDTO getTaskById(Long id) {
+    public Optional<TaskDTO> findTaskById(Long id) {
         User currentUser = getCurrentUser();
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-
-        // Security check
-        if (!task.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Unauthorized access");
-        }
+        return Optional.ofNullable(userDataCache.get(DataVersionRegistry.Scope.TASKS, currentUser.getId(), "id:" + id,
+                () -> ownership.findOwned(taskRepository, id, currentUser.getId())
+                        .map(this::convertToDTO)
+                        .orElse(null)));
+    }
 
-        return convertToDTO(task);
+    /**
+     * Why a task id can't be read: not found, or someone else's
+     */
+    public DomainException taskDenied(Long id) {
+        return ownership.denied(taskRepository, id, "Task");
     }
 
     /**
      * Create a new task
      */
+    @Transactional
     public TaskDTO createTask(TaskDTO dto) {
         User currentUser = getCurrentUser();
 
@@ -99,21 +140,19 @@ public class TaskService {
         task.setUser(currentUser);
 
         Task saved = taskRepository.save(task);
+        dashboardCounters.add(currentUser, DashboardCounterService.taskStatus(saved.getStatus()), 1);
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.TASKS, currentUser.getId());
+        eventPublisher.publishEvent(new ChangeEvent(currentUser.getId(), "task.created", saved.getId()));
         return convertToDTO(saved);
     }
 
     /**
      * Update an existing task
      */
+    @Transactional
     public TaskDTO updateTask(Long id, TaskDTO dto) {
         User currentUser = getCurrentUser();
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-
-        // Security check
-        if (!task.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Unauthorized access");
-        }
+        Task task = ownership.requireOwned(taskRepository, id, currentUser.getId(), "Task");
 
         task.setTitle(dto.getTitle());
         task.setDescription(dto.getDescription());
@@ -121,6 +160,8 @@ public class TaskService {
 
         // If status changed, update position
         if (!task.getStatus().equals(dto.getStatus())) {
+            dashboardCounters.move(currentUser, DashboardCounterService.taskStatus(task.getStatus()),
+                    DashboardCounterService.taskStatus(dto.getStatus()));
             task.setStatus(dto.getStatus());
             // Get the highest position in the new status column
             List<Task> tasksInNewStatus = taskRepository.findByUserAndStatusOrderByPositionAsc(
@@ -131,39 +172,35 @@ public class TaskService {
         }
 
         Task updated = taskRepository.save(task);
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.TASKS, currentUser.getId());
+        eventPublisher.publishEvent(new ChangeEvent(currentUser.getId(), "task.updated", id));
         return convertToDTO(updated);
     }
 
     /**
      * Delete a task
      */
+    @Transactional
     public void deleteTask(Long id) {
         User currentUser = getCurrentUser();
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-
-        // Security check
-        if (!task.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Unauthorized access");
-        }
+        Task task = ownership.requireOwned(taskRepository, id, currentUser.getId(), "Task");
 
         taskRepository.delete(task);
+        syncService.recordDelete(currentUser, Tombstone.TASK, id);
+        dashboardCounters.add(currentUser, DashboardCounterService.taskStatus(task.getStatus()), -1);
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.TASKS, currentUser.getId());
+        eventPublisher.publishEvent(new ChangeEvent(currentUser.getId(), "task.deleted", id));
     }
 
     /**
      * Update task position (for drag-and-drop)
      */
-    public TaskDTO updateTaskPosition(Long id, String newStatus, Integer newPosition) {
+    @Transactional
+    public TaskDTO updateTaskPosition(Long id, TaskStatus newStatus, Integer newPosition) {
         User currentUser = getCurrentUser();
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+        Task task = ownership.requireOwned(taskRepository, id, currentUser.getId(), "Task");
 
-        // Security check
-        if (!task.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Unauthorized access");
-        }
-
-        String oldStatus = task.getStatus();
+        TaskStatus oldStatus = task.getStatus();
         Integer oldPosition = task.getPosition();
 
         // Update task status and position
@@ -171,30 +208,177 @@ public class TaskService {
         task.setPosition(newPosition);
         taskRepository.save(task);
 
-        // Reorder other tasks in the old column (if status changed)
-        if (!oldStatus.equals(newStatus)) {
-            List<Task> oldColumnTasks = taskRepository.findByUserAndStatusOrderByPositionAsc(
-                    currentUser, oldStatus);
-            for (int i = 0; i < oldColumnTasks.size(); i++) {
-                Task t = oldColumnTasks.get(i);
-                if (t.getPosition() > oldPosition) {
-                    t.setPosition(t.getPosition() - 1);
-                    taskRepository.save(t);
+        // Close the gap in the old column and open one in the new column (one owner-filtered update each)
+        LocalDateTime now = LocalDateTime.now();
+        if (oldStatus != newStatus) {
+            taskRepository.shiftPositions(currentUser.getId(), oldStatus, oldPosition + 1, -1, id, now);
+        }
+        taskRepository.shiftPositions(currentUser.getId(), newStatus, newPosition, 1, id, now);
+
+        dashboardCounters.move(currentUser, DashboardCounterService.taskStatus(oldStatus),
+                DashboardCounterService.taskStatus(newStatus));
+        dataVersionRegistry.bump(DataVersionRegistry.Scope.TASKS, currentUser.getId());
+        eventPublisher.publishEvent(new ChangeEvent(currentUser.getId(), "task.moved", id));
+        return convertToDTO(task);
+    }
+
+    /**
+     * Apply create / update / move / delete operations in a single transaction
+     * - All referenced tasks are loaded with one query
+     * - Invalid items (unknown op, missing fields, unknown or foreign task) are reported and skipped
+     * - Writes go out as JDBC batches, and moved columns are renumbered once at the end
+     *
+     * @return one result per operation, in request order
+     */
+    @Transactional
+    public List<BatchResultDTO> applyBatch(List<BatchOperationDTO<TaskDTO>> operations) {
+        User currentUser = getCurrentUser();
+
+        Set<Long> ids = operations.stream()
+                .filter(Objects::nonNull)
+                .map(BatchOperationDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasksById = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        BatchResultDTO[] results = new BatchResultDTO[operations.size()];
+        Map<Integer, Task> created = new HashMap<>();
+        List<Task> toSave = new ArrayList<>();
+        List<Task> toDelete = new ArrayList<>();
+        Map<TaskStatus, Integer> nextPositions = new HashMap<>();
+        Set<TaskStatus> movedColumns = new HashSet<>();
+        Set<Long> movedIds = new HashSet<>();
+        Map<String, Long> counterDeltas = new HashMap<>();
+        List<ChangeEvent> events = new ArrayList<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDTO<TaskDTO> operation = operations.get(i);
+            if (operation == null) {
+                results[i] = BatchResultDTO.error(i, null, 400, "Operation is required");
+                continue;
+            }
+            TaskDTO dto = operation.getData();
+            String op = operation.getOp() != null ? operation.getOp() : "";
+
+            if (op.equals("create")) {
+                if (dto == null || dto.getTitle() == null || dto.getStatus() == null) {
+                    results[i] = BatchResultDTO.error(i, null, 400, "Title and status are required");
+                    continue;
                 }
+                Task task = new Task();
+                task.setTitle(dto.getTitle());
+                task.setDescription(dto.getDescription());
+                task.setStatus(dto.getStatus());
+                task.setPosition(nextPosition(currentUser, dto.getStatus(), nextPositions));
+                task.setDueDate(dto.getDueDate());
+                task.setUser(currentUser);
+                toSave.add(task);
+                created.put(i, task);
+                counterDeltas.merge(DashboardCounterService.taskStatus(task.getStatus()), 1L, Long::sum);
+                continue;
+            }
+
+            Task task = tasksById.get(operation.getId());
+            if (task == null) {
+                results[i] = BatchResultDTO.error(i, operation.getId(), 404, "Task not found");
+                continue;
+            }
+            if (!task.getUser().getId().equals(currentUser.getId())) {
+                results[i] = BatchResultDTO.error(i, operation.getId(), 403, "Unauthorized access");
+                continue;
+            }
+
+            switch (op) {
+                case "update" -> {
+                    if (dto == null || dto.getStatus() == null) {
+                        results[i] = BatchResultDTO.error(i, task.getId(), 400, "Status is required");
+                        continue;
+                    }
+                    task.setTitle(dto.getTitle());
+                    task.setDescription(dto.getDescription());
+                    task.setDueDate(dto.getDueDate());
+                    // A status change appends the task to its new column
+                    if (!task.getStatus().equals(dto.getStatus())) {
+                        countStatusChange(counterDeltas, task.getStatus(), dto.getStatus());
+                        task.setStatus(dto.getStatus());
+                        task.setPosition(nextPosition(currentUser, dto.getStatus(), nextPositions));
+                    }
+                    toSave.add(task);
+                    events.add(new ChangeEvent(currentUser.getId(), "task.updated", task.getId()));
+                    results[i] = BatchResultDTO.ok(i, task.getId(), 200);
+                }
+                case "move" -> {
+                    if (dto == null || dto.getStatus() == null || dto.getPosition() == null) {
+                        results[i] = BatchResultDTO.error(i, task.getId(), 400, "Status and position are required");
+                        continue;
+                    }
+                    movedColumns.add(task.getStatus());
+                    movedColumns.add(dto.getStatus());
+                    movedIds.add(task.getId());
+                    countStatusChange(counterDeltas, task.getStatus(), dto.getStatus());
+                    task.setStatus(dto.getStatus());
+                    task.setPosition(dto.getPosition());
+                    toSave.add(task);
+                    events.add(new ChangeEvent(currentUser.getId(), "task.moved", task.getId()));
+                    results[i] = BatchResultDTO.ok(i, task.getId(), 200);
+                }
+                case "delete" -> {
+                    toDelete.add(task);
+                    counterDeltas.merge(DashboardCounterService.taskStatus(task.getStatus()), -1L, Long::sum);
+                    events.add(new ChangeEvent(currentUser.getId(), "task.deleted", task.getId()));
+                    results[i] = BatchResultDTO.ok(i, task.getId(), 204);
+                }
+                default -> results[i] = BatchResultDTO.error(i, task.getId(), 400, "Unknown operation: " + op);
             }
         }
 
-        // Reorder tasks in the new column
-        List<Task> newColumnTasks = taskRepository.findByUserAndStatusOrderByPositionAsc(
-                currentUser, newStatus);
-        for (Task t : newColumnTasks) {
-            if (!t.getId().equals(id) && t.getPosition() >= newPosition) {
-                t.setPosition(t.getPosition() + 1);
-                taskRepository.save(t);
+        taskRepository.saveAll(toSave);
+        taskRepository.deleteAll(toDelete);
+        syncService.recordDeletes(currentUser, Tombstone.TASK,
+                toDelete.stream().map(Task::getId).collect(Collectors.toList()));
+        dashboardCounters.addAll(currentUser, counterDeltas);
+
+        // Renumber the columns touched by moves: a moved task takes the requested slot
+        // and the tasks from that slot on shift down, as with a single drag-and-drop
+        for (TaskStatus status : movedColumns) {
+            List<Task> column = new ArrayList<>(taskRepository.findByUserAndStatusOrderByPositionAsc(currentUser, status));
+            column.sort(Comparator.comparing(Task::getPosition)
+                    .thenComparing(t -> movedIds.contains(t.getId()) ? 0 : 1));
+            for (int position = 0; position < column.size(); position++) {
+                column.get(position).setPosition(position);
             }
         }
 
-        return convertToDTO(task);
+        created.forEach((index, task) -> {
+            results[index] = BatchResultDTO.ok(index, task.getId(), 201);
+            events.add(new ChangeEvent(currentUser.getId(), "task.created", task.getId()));
+        });
+
+        if (!toSave.isEmpty() || !toDelete.isEmpty()) {
+            dataVersionRegistry.bump(DataVersionRegistry.Scope.TASKS, currentUser.getId());
+        }
+        events.forEach(eventPublisher::publishEvent);
+        return List.of(results);
+    }
+
+    private void countStatusChange(Map<String, Long> counterDeltas, TaskStatus from, TaskStatus to) {
+        if (from != to) {
+            counterDeltas.merge(DashboardCounterService.taskStatus(from), -1L, Long::sum);
+            counterDeltas.merge(DashboardCounterService.taskStatus(to), 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Next free position at the end of a status column (queried once per column per batch)
+     */
+    private int nextPosition(User user, TaskStatus status, Map<TaskStatus, Integer> nextPositions) {
+        int position = nextPositions.computeIfAbsent(status, s -> {
+            List<Task> column = taskRepository.findByUserAndStatusOrderByPositionAsc(user, s);
+            return column.isEmpty() ? 0 : column.get(column.size() - 1).getPosition() + 1;
+        });
+        nextPositions.put(status, position + 1);
+        return position;
     }
 
     /**
@@ -205,10 +389,14 @@ public class TaskService {
         List<Task> allTasks = taskRepository.findByUserOrderByPositionAsc(currentUser);
 
         String lowerQuery = query.toLowerCase();
+        // Match the status labels once instead of per task
+        Set<TaskStatus> matchingStatuses = Arrays.stream(TaskStatus.values())
+                .filter(status -> status.getLabel().toLowerCase().contains(lowerQuery))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(TaskStatus.class)));
         return allTasks.stream()
                 .filter(task -> (task.getTitle() != null && task.getTitle().toLowerCase().contains(lowerQuery)) ||
                         (task.getDescription() != null && task.getDescription().toLowerCase().contains(lowerQuery)) ||
-                        (task.getStatus() != null && task.getStatus().toLowerCase().contains(lowerQuery)))
+                        matchingStatuses.contains(task.getStatus()))
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -1,13 +1,20 @@
 package com.lite.lite_backend.service;
 
+import com.lite.lite_backend.dto.AuthResponse;
 import com.lite.lite_backend.dto.UserProfileDTO;
 import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.exception.BadRequestException;
+import com.lite.lite_backend.exception.ConflictException;
+import com.lite.lite_backend.exception.NotFoundException;
 import com.lite.lite_backend.repository.UserRepository;
 import com.lite.lite_backend.repository.JobApplicationRepository;
 import com.lite.lite_backend.repository.TaskRepository;
 import com.lite.lite_backend.repository.NoteRepository;
 import com.lite.lite_backend.repository.FolderRepository;
 import com.lite.lite_backend.repository.DocumentRepository;
+import com.lite.lite_backend.repository.TombstoneRepository;
+import com.lite.lite_backend.util.JwtUtil;
+import com.lite.lite_backend.util.TokenVersionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,7 +32,12 @@ public class UserService {
     private final NoteRepository noteRepository;
     private final FolderRepository folderRepository;
     private final DocumentRepository documentRepository;
+    private final TombstoneRepository tombstoneRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final JwtUtil jwtUtil;
+    private final KnowledgeBaseTreeCache treeCache;
+    private final DashboardCounterService dashboardCounters;
 
     /**
      * Get the currently logged-in user
@@ -35,22 +47,33 @@ public class UserService {
         return (User) authentication.getPrincipal();
     }
 
+    /**
+     * Load the logged-in user by the id of the principal (the token's uid), never by the email:
+     * a token may still name an email the user gave up
+     */
+    private User loadCurrentUser() {
+        return userRepository.findById(getCurrentUser().getId())
+                .orElseThrow(() -> new NotFoundException("User"));
+    }
+
     /**
      * Get user profile information
      */
-    public UserProfileDTO getUserProfile(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional(readOnly = true)
+    public UserProfileDTO getUserProfile() {
+        User user = loadCurrentUser();
         return new UserProfileDTO(user.getName(), user.getEmail());
     }
 
     /**
      * Update user profile (name and email)
+     * - Tokens carry the email as subject: a changed email revokes every token issued so far
+     *   and comes back with a token issued for it; the caller replaces its token with that one
      */
     @Transactional
-    public UserProfileDTO updateUserProfile(String currentEmail, UserProfileDTO profileDTO) {
-        User user = userRepository.findByEmail(currentEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public UserProfileDTO updateUserProfile(UserProfileDTO profileDTO) {
+        User user = loadCurrentUser();
+        String currentEmail = user.getEmail();
 
         // Update name (no uniqueness check needed for name)
         user.setName(profileDTO.getUsername());
@@ -58,40 +81,51 @@ public class UserService {
         // Check if new email is already taken (if different from current)
         if (!user.getEmail().equals(profileDTO.getEmail())) {
             if (userRepository.findByEmail(profileDTO.getEmail()).isPresent()) {
-                throw new RuntimeException("Email already exists");
+                throw new ConflictException("Email already exists");
             }
             user.setEmail(profileDTO.getEmail());
         }
 
         User updated = userRepository.save(user);
-        return new UserProfileDTO(updated.getName(), updated.getEmail());
+        UserProfileDTO result = new UserProfileDTO(updated.getName(), updated.getEmail());
+        if (!updated.getEmail().equals(currentEmail)) {
+            // Tokens for the old email must not outlive it (it may be registered again)
+            tokenVersionRegistry.bump(updated.getId());
+            result.setJwtToken(jwtUtil.generateToken(updated));
+        }
+        return result;
     }
 
     /**
      * Change user password
+     * - Revokes every token issued so far, including the caller's
+     *
+     * @return a new token for the caller's session
      */
     @Transactional
-    public void changePassword(String email, String currentPassword, String newPassword) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public AuthResponse changePassword(String currentPassword, String newPassword) {
+        User user = loadCurrentUser();
 
         // Verify current password
         if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
-            throw new RuntimeException("Current password is incorrect");
+            throw new BadRequestException("Current password is incorrect");
         }
 
         // Update to new password
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+
+        // Revoke tokens issued with the old password, then issue one for this session
+        tokenVersionRegistry.bump(user.getId());
+        return new AuthResponse(jwtUtil.generateToken(user), user.getName());
     }
 
     /**
      * Delete user account and all associated data
      */
     @Transactional
-    public void deleteUserAccount(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public void deleteUserAccount() {
+        User user = loadCurrentUser();
 
         // Delete all user data (cascade should handle this, but explicit for safety)
         jobApplicationRepository.findByUser(user).forEach(jobApplicationRepository::delete);
@@ -99,8 +133,14 @@ public class UserService {
         noteRepository.findByUser(user).forEach(noteRepository::delete);
         folderRepository.findByUser(user).forEach(folderRepository::delete);
         documentRepository.findByUser(user).forEach(documentRepository::delete);
+        tombstoneRepository.deleteByUser(user);
+        dashboardCounters.deleteAll(user);
 
         // Delete the user
         userRepository.delete(user);
+
+        // Revoke any token still in circulation
+        tokenVersionRegistry.bump(user.getId());
+        treeCache.invalidate(user.getId());
     }
 }
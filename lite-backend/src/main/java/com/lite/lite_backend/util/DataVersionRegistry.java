@@ -0,0 +1,102 @@
+package com.lite.lite_backend.util;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Version counter per user and data set (tasks, jobs, knowledge base), stored in data_versions.
+ * Every write bumps the counter in its own transaction, so the counter can be used as an ETag
+ * for list endpoints (and to validate cached reads) without querying or serializing the data.
+ * - Persisted: tags survive restarts and are the same on every instance
+ * - A version is only visible once the write that bumped it has committed
+ */
+@Component
+public class DataVersionRegistry {
+
+    public enum Scope {
+        TASKS, JOBS, KNOWLEDGE_BASE
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void changed(Scope scope, Long userId, long version);
+    }
+
+    private static final String SELECT_VERSION =
+            "SELECT version FROM data_versions WHERE user_id = ? AND scope = ?";
+
+    private static final String INCREMENT_VERSION =
+            "INSERT INTO data_versions (user_id, scope, version) VALUES (?, ?, 1) "
+                    + "ON CONFLICT (user_id, scope) DO UPDATE SET version = data_versions.version + 1 "
+                    + "RETURNING version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public DataVersionRegistry(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Build the ETag of a user's data set from its version.
+     * The version must be read before the data, so the tag is never newer than the body;
+     * the same read then validates the caches ({@link UserDataCache}, tree cache).
+     */
+    public static String etag(Scope scope, long version) {
+        return "\"" + scope.name().toLowerCase() + "-" + version + "\"";
+    }
+
+    /**
+     * Get the current version of a user's data set (0 if never changed).
+     * Same rule as the ETag: read it before reading the data it describes.
+     * Read-only like the reads it describes, so both come from the same database
+     * when read-only transactions go to a replica.
+     */
+    public long version(Scope scope, Long userId) {
+        Long version = readOnlyTransaction.execute(status -> jdbcTemplate.query(SELECT_VERSION,
+                rows -> rows.next() ? rows.getLong(1) : 0L, userId, scope.name()));
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Be told about every change made by this instance, with the version it committed.
+     * Called after commit; after-commit callbacks with a higher precedence (tree patches) run first.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Mark a user's data set as changed.
+     * Inside a transaction the new version commits (or rolls back) with the write, so a
+     * concurrent reader can never cache uncommitted-or-older data under the new tag.
+     * The row stays locked until then, so concurrent writes of one user's data set queue up.
+     */
+    public void bump(Scope scope, Long userId) {
+        Long version = jdbcTemplate.queryForObject(INCREMENT_VERSION, Long.class, userId, scope.name());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notifyListeners(scope, userId, version);
+                }
+            });
+        } else {
+            notifyListeners(scope, userId, version);
+        }
+    }
+
+    private void notifyListeners(Scope scope, Long userId, long version) {
+        listeners.forEach(listener -> listener.changed(scope, userId, version));
+    }
+}
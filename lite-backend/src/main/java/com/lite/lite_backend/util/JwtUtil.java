@@ -1,9 +1,11 @@
 package com.lite.lite_backend.util;
 
+import com.lite.lite_backend.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -23,6 +25,24 @@ public class JwtUtil {
     // Token validity: 24 hours (in milliseconds)
     private static final long JWT_TOKEN_VALIDITY = 24 * 60 * 60 * 1000;
 
+    // Claim names: id and token version of the user (always issued; the stateless mode also builds the principal from them)
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final boolean statelessPrincipal;
+
+    /**
+     * @param statelessPrincipal when true, the auth filter builds the principal from the user id and
+     *                           token version in the token, without a DB lookup
+     */
+    public JwtUtil(
+            TokenVersionRegistry tokenVersionRegistry,
+            @Value("${lite.security.jwt.stateless-principal:false}") boolean statelessPrincipal) {
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.statelessPrincipal = statelessPrincipal;
+    }
+
     private SecretKey getSigningKey() {
         byte[] keyBytes = Decoders.BASE64.decode(SECRET);
         return Keys.hmacShaKeyFor(keyBytes);
@@ -52,8 +72,9 @@ public class JwtUtil {
 
     /**
      * Extract all claims from the token
+     * (also verifies the signature and expiration)
      */
-    private Claims extractAllClaims(String token) {
+    public Claims extractAllClaims(String token) {
         return Jwts.parser()
                 .verifyWith(getSigningKey())
                 .build()
@@ -73,6 +94,10 @@ public class JwtUtil {
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(TOKEN_VERSION_CLAIM, tokenVersionRegistry.currentVersion(user.getId()));
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -98,4 +123,46 @@ public class JwtUtil {
         final String email = extractEmail(token);
         return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
+
+    /**
+     * Check that a token was issued to this very user and not revoked since.
+     * The email alone is not enough: after an email change, someone else may register the old one.
+     * Tokens issued before ids were embedded only carry the email and are accepted as before.
+     */
+    public boolean isIssuedTo(Claims claims, User user) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (userId == null) {
+            return true;
+        }
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return userId.equals(user.getId())
+                && tokenVersion != null && tokenVersion >= tokenVersionRegistry.currentVersion(userId);
+    }
+
+    /**
+     * Check if the claims can be turned into a principal without loading the user
+     * (stateless mode is on and the token was issued with a user id)
+     */
+    public boolean hasStatelessPrincipal(Claims claims) {
+        return statelessPrincipal && claims.get(USER_ID_CLAIM) != null;
+    }
+
+    /**
+     * Build a lightweight principal from the token claims.
+     * Only the id and email are set, which is all controllers and services use.
+     *
+     * @return the principal, or null if the token was revoked by a version bump
+     */
+    public User buildPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        if (tokenVersion == null || tokenVersion < tokenVersionRegistry.currentVersion(userId)) {
+            return null;
+        }
+
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(claims.getSubject());
+        return user;
+    }
 }
@@ -0,0 +1,34 @@
+package com.lite.lite_backend.util;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory table of the current token version per user.
+ * Tokens carry the version they were issued with; bumping the version
+ * revokes every token issued before, without a database lookup per request.
+ *
+ * Note: the table lives in this JVM only, so it is reset on restart and
+ * is not shared between instances.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Get the current token version of a user (0 if never bumped)
+     */
+    public int currentVersion(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Revoke all tokens issued so far for a user
+     */
+    public void bump(Long userId) {
+        versions.merge(userId, 1, Integer::sum);
+    }
+}
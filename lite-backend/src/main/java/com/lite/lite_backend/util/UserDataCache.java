@@ -0,0 +1,143 @@
+package com.lite.lite_backend.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read cache for per-user lists and lookups (already converted to DTOs).
+ * - One cache per data set (tasks, jobs, knowledge base), one entry per user,
+ *   holding every cached read of that user ("all", "status:TODO", "id:42", ...)
+ * - Every write bumps the data set's version in {@link DataVersionRegistry}; an entry built from
+ *   another version is never served, whichever instance made the write, and local writes evict it at once
+ * - Hits and misses are counted per read (lite.cache.requests) with a hit ratio gauge
+ * - Loaders run in one read-only transaction (one pooled connection, no dirty checking);
+ *   a hit costs one primary-key lookup of the version, or nothing when the caller passes
+ *   the version it already read for the ETag
+ *
+ * Cached values are shared between requests and must not be modified.
+ */
+@Component
+public class UserDataCache {
+
+    private final CacheManager cacheManager;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<DataVersionRegistry.Scope, Stats> stats = new ConcurrentHashMap<>();
+
+    public UserDataCache(CacheManager cacheManager, DataVersionRegistry dataVersionRegistry,
+            MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.cacheManager = cacheManager;
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        for (DataVersionRegistry.Scope scope : DataVersionRegistry.Scope.values()) {
+            stats.put(scope, new Stats(scope, meterRegistry));
+        }
+        dataVersionRegistry.addListener((scope, userId, version) -> evict(scope, userId));
+    }
+
+    /**
+     * Name of the cache backing a data set
+     */
+    public static String cacheName(DataVersionRegistry.Scope scope) {
+        return scope.name().toLowerCase();
+    }
+
+    /**
+     * Get a cached read of a user's data, loading it on a miss.
+     * A null result (e.g. access denied) is returned but not cached; exceptions propagate.
+     */
+    public <T> T get(DataVersionRegistry.Scope scope, Long userId, String key, Supplier<T> loader) {
+        // Read the version before the data, so a concurrent write can only make the entry look older
+        return get(scope, userId, dataVersionRegistry.version(scope, userId), key, loader);
+    }
+
+    /**
+     * Same as {@link #get(DataVersionRegistry.Scope, Long, String, Supplier)} with a version read by the caller
+     * (before the data, e.g. for the ETag), so a hit doesn't touch the database
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(DataVersionRegistry.Scope scope, Long userId, long version, String key, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName(scope));
+
+        Entry entry = cache.get(userId, Entry.class);
+        if (entry == null || entry.version != version) {
+            entry = new Entry(version);
+            cache.put(userId, entry);
+        }
+
+        Object value = entry.values.get(key);
+        if (value != null) {
+            stats.get(scope).hits.increment();
+            return (T) value;
+        }
+
+        stats.get(scope).misses.increment();
+        T loaded = readOnlyTransaction.execute(status -> loader.get());
+        if (loaded != null) {
+            entry.values.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop everything cached for a user's data set
+     */
+    public void evict(DataVersionRegistry.Scope scope, Long userId) {
+        Cache cache = cacheManager.getCache(cacheName(scope));
+        if (cache != null) {
+            cache.evict(userId);
+        }
+    }
+
+    /**
+     * All cached reads of one user for one data set, valid for one version
+     */
+    private static class Entry {
+        private final long version;
+        private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+        Entry(long version) {
+            this.version = version;
+        }
+    }
+
+    private static class Stats {
+        private final Counter hits;
+        private final Counter misses;
+
+        Stats(DataVersionRegistry.Scope scope, MeterRegistry meterRegistry) {
+            String cache = cacheName(scope);
+            this.hits = Counter.builder("lite.cache.requests")
+                    .description("Reads served by the user data cache")
+                    .tag("cache", cache)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("lite.cache.requests")
+                    .description("Reads served by the user data cache")
+                    .tag("cache", cache)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("lite.cache.hit.ratio", this, Stats::hitRatio)
+                    .description("Share of reads served from memory since startup")
+                    .tag("cache", cache)
+                    .register(meterRegistry);
+        }
+
+        double hitRatio() {
+            double total = hits.count() + misses.count();
+            return total == 0 ? 0 : hits.count() / total;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+-- Delta sync cursors based on transaction ids instead of clock time (SyncService).
+-- A trigger stamps every synced row with the id of the transaction that last wrote it, and a sync
+-- returns the rows stamped at or after the oldest transaction still running when the previous sync
+-- read (pg_snapshot_xmin). A long transaction (e.g. an account import) can commit whenever it likes:
+-- its id stays at or after every cursor issued while it ran.
+-- pg_current_xact_id / pg_current_snapshot need PostgreSQL 13+ (like pg_trgm in V5).
+
+CREATE FUNCTION set_change_xid() RETURNS trigger AS
+$$
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+-- Existing rows get 0: cursors issued before this migration are time based and lead to a full resync
+ALTER TABLE folders ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE notes ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE documents ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE job_applications ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tombstones ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+
+CREATE TRIGGER folders_change_xid BEFORE INSERT OR UPDATE ON folders
+    FOR EACH ROW EXECUTE FUNCTION set_change_xid();
+CREATE TRIGGER notes_change_xid BEFORE INSERT OR UPDATE ON notes
+    FOR EACH ROW EXECUTE FUNCTION set_change_xid();
+CREATE TRIGGER documents_change_xid BEFORE INSERT OR UPDATE ON documents
+    FOR EACH ROW EXECUTE FUNCTION set_change_xid();
+CREATE TRIGGER tasks_change_xid BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION set_change_xid();
+CREATE TRIGGER job_applications_change_xid BEFORE INSERT OR UPDATE ON job_applications
+    FOR EACH ROW EXECUTE FUNCTION set_change_xid();
+CREATE TRIGGER tombstones_change_xid BEFORE INSERT OR UPDATE ON tombstones
+    FOR EACH ROW EXECUTE FUNCTION set_change_xid();
+
+-- Delta sync (findByUserAndChangeXidGreaterThanEqual)
+CREATE INDEX IF NOT EXISTS idx_folders_user_change_xid ON folders (user_id, change_xid);
+CREATE INDEX IF NOT EXISTS idx_notes_user_change_xid ON notes (user_id, change_xid);
+CREATE INDEX IF NOT EXISTS idx_documents_user_change_xid ON documents (user_id, change_xid);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_change_xid ON tasks (user_id, change_xid);
+CREATE INDEX IF NOT EXISTS idx_job_applications_user_change_xid ON job_applications (user_id, change_xid);
+CREATE INDEX IF NOT EXISTS idx_tombstones_user_change_xid ON tombstones (user_id, change_xid);
+-- The tombstones index served only the time-based delta sync (the purge uses idx_tombstones_deleted_at)
+DROP INDEX IF EXISTS idx_tombstones_user_deleted_at;
+
+-- Highest transaction id among a user's purged tombstones: older cursors may have missed those deletes
+CREATE TABLE sync_purges
+(
+    user_id    BIGINT PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    purged_xid BIGINT NOT NULL
+);
@@ -0,0 +1,29 @@
+-- Columns and tables added after the baseline (delta sync, dashboard counters).
+-- IF NOT EXISTS: databases adopted from ddl-auto may already have some of them.
+-- Runs before V2, whose indexes use these columns.
+
+ALTER TABLE job_applications ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+ALTER TABLE folders ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+
+-- Rows from before the column existed: use the best known date, so delta sync and
+-- the (user_id, updated_at) indexes see every row
+UPDATE job_applications SET updated_at = date_applied WHERE updated_at IS NULL;
+UPDATE folders SET updated_at = CURRENT_TIMESTAMP WHERE updated_at IS NULL;
+UPDATE documents SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE TABLE IF NOT EXISTS tombstones (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT NOT NULL REFERENCES users (id),
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id   BIGINT NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_counters (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id       BIGINT NOT NULL REFERENCES users (id),
+    counter_name  VARCHAR(300) NOT NULL,
+    counter_value BIGINT NOT NULL,
+    CONSTRAINT uk_user_counters_user_name UNIQUE (user_id, counter_name)
+);
@@ -0,0 +1,69 @@
+-- Baseline: the schema Hibernate created with ddl-auto before versioned migrations.
+-- IF NOT EXISTS so databases created that way are adopted as they are (see FlywayConfig).
+-- Columns and tables added since then come in V1_1, which also upgrades adopted databases.
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email    VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    name     VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS job_applications (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    company         VARCHAR(255) NOT NULL,
+    way_of_applying VARCHAR(255),
+    contact         VARCHAR(255),
+    status          VARCHAR(255) NOT NULL,
+    date_applied    DATE NOT NULL,
+    job_description VARCHAR(1000),
+    cv_url          VARCHAR(500),
+    user_id         BIGINT NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    status      VARCHAR(255) NOT NULL,
+    position    INTEGER NOT NULL,
+    due_date    TIMESTAMP(6),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    user_id     BIGINT NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS folders (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name             VARCHAR(255) NOT NULL,
+    user_id          BIGINT NOT NULL REFERENCES users (id),
+    parent_folder_id BIGINT REFERENCES folders (id)
+);
+
+CREATE TABLE IF NOT EXISTS notes (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title      VARCHAR(255) NOT NULL,
+    content    TEXT,
+    user_id    BIGINT NOT NULL REFERENCES users (id),
+    folder_id  BIGINT REFERENCES folders (id),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS documents (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    file_name    VARCHAR(255) NOT NULL,
+    document_url VARCHAR(255) NOT NULL,
+    user_id      BIGINT NOT NULL REFERENCES users (id),
+    folder_id    BIGINT REFERENCES folders (id),
+    created_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS note_versions (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    note_id        BIGINT NOT NULL REFERENCES notes (id),
+    title          VARCHAR(255) NOT NULL,
+    content        TEXT,
+    created_at     TIMESTAMP(6) NOT NULL,
+    version_number INTEGER
+);
@@ -0,0 +1,45 @@
+-- One index per repository access path. Every query filters on the owner first,
+-- so user_id leads unless the parent row already implies the owner.
+
+-- Indexes ddl-auto created from @Table(indexes) that are replaced below
+DROP INDEX IF EXISTS idx_job_applications_user_date_applied;
+
+-- tasks: Kanban columns (findByUserAndStatusOrderByPositionAsc), status counts, export order
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status_position ON tasks (user_id, status, position);
+-- tasks: whole board (findByUserOrderByPositionAsc)
+CREATE INDEX IF NOT EXISTS idx_tasks_user_position ON tasks (user_id, position);
+-- tasks: delta sync
+CREATE INDEX IF NOT EXISTS idx_tasks_user_updated_at ON tasks (user_id, updated_at);
+-- tasks: overdue count; only tasks with a due date can be overdue
+CREATE INDEX IF NOT EXISTS idx_tasks_user_due_date ON tasks (user_id, due_date) WHERE due_date IS NOT NULL;
+
+-- job_applications: list and export (findByUserOrderByDateAppliedDesc), applications per week
+CREATE INDEX IF NOT EXISTS idx_job_applications_user_date_applied_id
+    ON job_applications (user_id, date_applied DESC, id DESC);
+-- job_applications: delta sync
+CREATE INDEX IF NOT EXISTS idx_job_applications_user_updated_at ON job_applications (user_id, updated_at);
+
+-- folders: root level (findByUserAndParentFolderIsNull)
+CREATE INDEX IF NOT EXISTS idx_folders_user_root ON folders (user_id) WHERE parent_folder_id IS NULL;
+-- folders: children of a folder (findByUserAndParentFolder, cascades)
+CREATE INDEX IF NOT EXISTS idx_folders_parent_folder ON folders (parent_folder_id);
+-- folders: delta sync, and every other per-user read via the user_id prefix
+CREATE INDEX IF NOT EXISTS idx_folders_user_updated_at ON folders (user_id, updated_at);
+
+-- notes: root level (findByUserAndFolder with no folder)
+CREATE INDEX IF NOT EXISTS idx_notes_user_root ON notes (user_id) WHERE folder_id IS NULL;
+-- notes: content of a folder (findByUserAndFolder, cascades)
+CREATE INDEX IF NOT EXISTS idx_notes_folder ON notes (folder_id);
+CREATE INDEX IF NOT EXISTS idx_notes_user_updated_at ON notes (user_id, updated_at);
+
+-- documents: same access paths as notes
+CREATE INDEX IF NOT EXISTS idx_documents_user_root ON documents (user_id) WHERE folder_id IS NULL;
+CREATE INDEX IF NOT EXISTS idx_documents_folder ON documents (folder_id);
+CREATE INDEX IF NOT EXISTS idx_documents_user_updated_at ON documents (user_id, updated_at);
+
+-- note_versions: history of a note, newest first (findByNoteOrderByVersionNumberDesc)
+CREATE INDEX IF NOT EXISTS idx_note_versions_note_version ON note_versions (note_id, version_number DESC);
+
+-- tombstones: delta sync, and the nightly purge
+CREATE INDEX IF NOT EXISTS idx_tombstones_user_deleted_at ON tombstones (user_id, deleted_at);
+CREATE INDEX IF NOT EXISTS idx_tombstones_deleted_at ON tombstones (deleted_at);
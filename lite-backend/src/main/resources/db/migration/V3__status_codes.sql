@@ -0,0 +1,58 @@
+-- Task and job application statuses become smallint codes (TaskStatus / JobStatus).
+-- Every spelling the application ever wrote is mapped (case, spaces and underscores aside).
+-- Any other value stops the migration, so no status is rewritten silently: fix those rows and restart.
+
+DO $$
+DECLARE
+    unknown TEXT;
+BEGIN
+    SELECT string_agg(DISTINCT status, ', ') INTO unknown FROM tasks
+    WHERE upper(replace(trim(status), ' ', '_')) NOT IN ('TODO', 'IN_PROGRESS', 'DONE');
+    IF unknown IS NOT NULL THEN
+        RAISE EXCEPTION 'Unknown task status values: %. Expected TODO, IN_PROGRESS or DONE', unknown;
+    END IF;
+
+    SELECT string_agg(DISTINCT status, ', ') INTO unknown FROM job_applications
+    WHERE lower(replace(trim(status), '_', ' '))
+        NOT IN ('submitted', 'applied', 'in progress', 'awaiting response', 'rejected');
+    IF unknown IS NOT NULL THEN
+        RAISE EXCEPTION 'Unknown job status values: %. Expected Submitted, In Progress, Awaiting Response or Rejected',
+            unknown;
+    END IF;
+END $$;
+
+ALTER TABLE tasks ALTER COLUMN status TYPE SMALLINT USING
+    CASE upper(replace(trim(status), ' ', '_'))
+        WHEN 'TODO' THEN 0
+        WHEN 'IN_PROGRESS' THEN 1
+        WHEN 'DONE' THEN 2
+    END;
+ALTER TABLE tasks ADD CONSTRAINT ck_tasks_status CHECK (status BETWEEN 0 AND 2);
+
+ALTER TABLE job_applications ALTER COLUMN status TYPE SMALLINT USING
+    CASE lower(replace(trim(status), '_', ' '))
+        WHEN 'submitted' THEN 0
+        WHEN 'applied' THEN 0
+        WHEN 'in progress' THEN 1
+        WHEN 'awaiting response' THEN 2
+        WHEN 'rejected' THEN 3
+    END;
+ALTER TABLE job_applications ADD CONSTRAINT ck_job_applications_status CHECK (status BETWEEN 0 AND 3);
+
+-- Dashboard counters are keyed by status label: rebuild them for the mapped values
+DELETE FROM user_counters WHERE counter_name LIKE 'task:%' OR counter_name LIKE 'job:%';
+
+INSERT INTO user_counters (user_id, counter_name, counter_value)
+SELECT user_id,
+       'task:' || CASE status WHEN 0 THEN 'TODO' WHEN 1 THEN 'IN_PROGRESS' ELSE 'DONE' END,
+       COUNT(*)
+FROM tasks
+GROUP BY user_id, status;
+
+INSERT INTO user_counters (user_id, counter_name, counter_value)
+SELECT user_id,
+       'job:' || CASE status WHEN 0 THEN 'Submitted' WHEN 1 THEN 'In Progress'
+                             WHEN 2 THEN 'Awaiting Response' ELSE 'Rejected' END,
+       COUNT(*)
+FROM job_applications
+GROUP BY user_id, status;
@@ -0,0 +1,22 @@
+-- Folder hierarchy index: one row per (ancestor, descendant) pair, including each folder itself at depth 0.
+-- Subtree, breadcrumb and "is inside" questions become one indexed lookup instead of a walk up/down parent_folder_id.
+
+CREATE TABLE folder_closure
+(
+    ancestor_id   BIGINT  NOT NULL REFERENCES folders (id) ON DELETE CASCADE,
+    descendant_id BIGINT  NOT NULL REFERENCES folders (id) ON DELETE CASCADE,
+    depth         INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_folder_closure_descendant ON folder_closure (descendant_id, depth);
+
+INSERT INTO folder_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE tree (ancestor_id, descendant_id, depth) AS (
+    SELECT id, id, 0 FROM folders
+    UNION ALL
+    SELECT t.ancestor_id, f.id, t.depth + 1
+    FROM tree t
+             JOIN folders f ON f.parent_folder_id = t.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth FROM tree;
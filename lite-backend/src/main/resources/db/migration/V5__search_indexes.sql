@@ -0,0 +1,7 @@
+-- Substring search (/api/kb/search): trigram indexes let LIKE '%term%' on the lower-cased columns use an index.
+-- pg_trgm is a trusted extension (PostgreSQL 13+), so the database owner can create it.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_notes_title_trgm ON notes USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_documents_file_name_trgm ON documents USING gin (lower(file_name) gin_trgm_ops);
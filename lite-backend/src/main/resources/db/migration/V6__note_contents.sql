@@ -0,0 +1,15 @@
+-- Note bodies move out of the notes table (NoteContent), so reads that only need
+-- titles, folders and owners no longer pull TEXT columns along.
+
+CREATE TABLE note_contents
+(
+    note_id BIGINT PRIMARY KEY REFERENCES notes (id) ON DELETE CASCADE,
+    content TEXT
+);
+
+INSERT INTO note_contents (note_id, content)
+SELECT id, content FROM notes;
+
+ALTER TABLE notes DROP COLUMN content;
+
+CREATE INDEX IF NOT EXISTS idx_note_contents_content_trgm ON note_contents USING gin (lower(content) gin_trgm_ops);
@@ -0,0 +1,34 @@
+-- Sequence ids for the tables written in bulk: Hibernate reserves blocks of 50 ids per sequence call
+-- (pooled-lo: the sequence value is the first id of the block), so inserts can be JDBC-batched.
+-- INCREMENT BY must match allocationSize in the entities and SequenceIdAllocator.ALLOCATION_SIZE.
+-- Plain INSERTs without an id still work through the column default (they use one id of a block).
+
+ALTER TABLE job_applications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE job_applications_seq INCREMENT BY 50 OWNED BY job_applications.id;
+SELECT setval('job_applications_seq', COALESCE((SELECT max(id) FROM job_applications), 0) + 1, false);
+ALTER TABLE job_applications ALTER COLUMN id SET DEFAULT nextval('job_applications_seq');
+
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE tasks_seq INCREMENT BY 50 OWNED BY tasks.id;
+SELECT setval('tasks_seq', COALESCE((SELECT max(id) FROM tasks), 0) + 1, false);
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_seq');
+
+ALTER TABLE folders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE folders_seq INCREMENT BY 50 OWNED BY folders.id;
+SELECT setval('folders_seq', COALESCE((SELECT max(id) FROM folders), 0) + 1, false);
+ALTER TABLE folders ALTER COLUMN id SET DEFAULT nextval('folders_seq');
+
+ALTER TABLE notes ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE notes_seq INCREMENT BY 50 OWNED BY notes.id;
+SELECT setval('notes_seq', COALESCE((SELECT max(id) FROM notes), 0) + 1, false);
+ALTER TABLE notes ALTER COLUMN id SET DEFAULT nextval('notes_seq');
+
+ALTER TABLE documents ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE documents_seq INCREMENT BY 50 OWNED BY documents.id;
+SELECT setval('documents_seq', COALESCE((SELECT max(id) FROM documents), 0) + 1, false);
+ALTER TABLE documents ALTER COLUMN id SET DEFAULT nextval('documents_seq');
+
+ALTER TABLE note_versions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE note_versions_seq INCREMENT BY 50 OWNED BY note_versions.id;
+SELECT setval('note_versions_seq', COALESCE((SELECT max(id) FROM note_versions), 0) + 1, false);
+ALTER TABLE note_versions ALTER COLUMN id SET DEFAULT nextval('note_versions_seq');
@@ -0,0 +1,11 @@
+-- Version of each user's data sets (tasks, jobs, knowledge base), bumped in the same
+-- transaction as every write (DataVersionRegistry). List ETags and the read cache are built
+-- on it, so they agree across restarts and between instances.
+
+CREATE TABLE data_versions
+(
+    user_id BIGINT      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    scope   VARCHAR(20) NOT NULL,
+    version BIGINT      NOT NULL,
+    PRIMARY KEY (user_id, scope)
+);
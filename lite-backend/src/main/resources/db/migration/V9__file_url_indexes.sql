@@ -0,0 +1,7 @@
+-- Storage cleanup: before deleting a file, look for any document or CV still pointing to it.
+-- URLs of the same file differ in their version segment, so the lookup matches the end of the URL:
+-- a pattern index on the reversed URL turns that suffix into an indexed prefix search.
+CREATE INDEX IF NOT EXISTS idx_documents_document_url_reversed
+    ON documents (reverse(document_url) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_job_applications_cv_url_reversed
+    ON job_applications (reverse(cv_url) text_pattern_ops);
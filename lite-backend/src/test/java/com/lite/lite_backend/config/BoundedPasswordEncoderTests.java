@@ -0,0 +1,134 @@
+package com.lite.lite_backend.config;
+
+import com.lite.lite_backend.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the bounds of {@link BoundedPasswordEncoder}: no more than {@code threads} hashes run at once,
+ * no more than {@code queueCapacity} wait, and anything beyond is rejected at once (no waiting for a slot).
+ */
+class BoundedPasswordEncoderTests {
+
+	private static final int THREADS = 2;
+	private static final int QUEUE_CAPACITY = 3;
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final AtomicInteger running = new AtomicInteger();
+	private final AtomicInteger maxRunning = new AtomicInteger();
+
+	// One caller thread per accepted hash, like concurrent login requests
+	private final ExecutorService callers = Executors.newFixedThreadPool(THREADS + QUEUE_CAPACITY);
+
+	private SimpleMeterRegistry meterRegistry;
+	private BoundedPasswordEncoder encoder;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		encoder = new BoundedPasswordEncoder(new BlockingEncoder(), THREADS, QUEUE_CAPACITY, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		encoder.close();
+		callers.shutdownNow();
+	}
+
+	@Test
+	void rejectsWhenPoolAndQueueAreFull() throws Exception {
+		List<CompletableFuture<String>> accepted = new ArrayList<>();
+		for (int i = 0; i < THREADS + QUEUE_CAPACITY; i++) {
+			accepted.add(CompletableFuture.supplyAsync(() -> encoder.encode("secret"), callers));
+		}
+		awaitSaturation();
+
+		// Rejected straight away, not after waiting for a free thread
+		assertTimeoutPreemptively(Duration.ofSeconds(1),
+				() -> assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("secret", "hash")));
+		assertEquals(1.0, meterRegistry.get("lite.auth.hashing.rejected").counter().count());
+
+		release.countDown();
+		for (CompletableFuture<String> result : accepted) {
+			assertEquals("hash", result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(THREADS, maxRunning.get());
+		assertEquals(THREADS + QUEUE_CAPACITY,
+				meterRegistry.get("lite.auth.hashing.time").tag("operation", "encode").timer().count());
+	}
+
+	@Test
+	void acceptsAgainOnceSaturationClears() throws Exception {
+		List<CompletableFuture<String>> accepted = new ArrayList<>();
+		for (int i = 0; i < THREADS + QUEUE_CAPACITY; i++) {
+			accepted.add(CompletableFuture.supplyAsync(() -> encoder.encode("secret"), callers));
+		}
+		awaitSaturation();
+		assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("secret"));
+
+		release.countDown();
+		CompletableFuture.allOf(accepted.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+		assertTrue(encoder.matches("secret", "hash"));
+	}
+
+	/**
+	 * Wait until every hashing thread is busy and the queue is full
+	 */
+	private void awaitSaturation() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (running.get() < THREADS
+				|| meterRegistry.get("lite.auth.hashing.queue.depth").gauge().value() < QUEUE_CAPACITY) {
+			assertTrue(System.nanoTime() < deadline, "hashing pool did not fill up");
+			Thread.sleep(5);
+		}
+	}
+
+	/**
+	 * Encoder whose hashing blocks until the test releases it, tracking how many hashes run at once
+	 */
+	private class BlockingEncoder implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			hash();
+			return "hash";
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			hash();
+			return true;
+		}
+
+		private void hash() {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				running.decrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package com.lite.lite_backend.config;
+
+import com.lite.lite_backend.entity.User;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing decisions of {@link ReadWriteRoutingDataSource}, without a database.
+ *
+ * {@link #readOnlyTransactionUsesReplicaPool()} runs against two PostgreSQL instances: set LITE_TEST_DB_URL
+ * (primary) and LITE_TEST_REPLICA_URL (replica), plus LITE_TEST_DB_USER / LITE_TEST_DB_PASSWORD.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+	private ReadWriteRoutingDataSource routing;
+
+	@BeforeEach
+	void setUp() {
+		routing = new ReadWriteRoutingDataSource(new DriverManagerDataSource(), new DriverManagerDataSource(),
+				Duration.ofSeconds(5), Duration.ofMinutes(1), new SimpleMeterRegistry());
+		routing.recordReplicaLag(100);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.clear();
+	}
+
+	@Test
+	void readOnlyTransactionOfUserGoesToReplica() {
+		logIn(1L);
+		beginTransaction(true);
+
+		assertEquals(ReadWriteRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+	}
+
+	@Test
+	void writesGoToPrimary() {
+		logIn(1L);
+		beginTransaction(false);
+
+		assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+	}
+
+	@Test
+	void readsWithoutUserGoToPrimary() {
+		beginTransaction(true);
+
+		assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+	}
+
+	@Test
+	void readsAfterOwnWriteStayOnPrimary() {
+		logIn(1L);
+		beginTransaction(false);
+		routing.determineCurrentLookupKey();
+		tearDown();
+
+		logIn(1L);
+		beginTransaction(true);
+		assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+		tearDown();
+
+		// Other users are not affected
+		logIn(2L);
+		beginTransaction(true);
+		assertEquals(ReadWriteRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+	}
+
+	@Test
+	void laggingOrUnreachableReplicaFallsBackToPrimary() {
+		logIn(1L);
+		beginTransaction(true);
+
+		routing.recordReplicaLag(6000);
+		assertFalse(routing.isReplicaUsable());
+		assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+		routing.recordReplicaLag(-1);
+		assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+		routing.recordReplicaLag(0);
+		assertTrue(routing.isReplicaUsable());
+		assertEquals(ReadWriteRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+	}
+
+	@Test
+	@EnabledIfEnvironmentVariable(named = "LITE_TEST_DB_URL", matches = ".+")
+	@EnabledIfEnvironmentVariable(named = "LITE_TEST_REPLICA_URL", matches = ".+")
+	void readOnlyTransactionUsesReplicaPool() {
+		try (HikariDataSource primary = pool("primary", System.getenv("LITE_TEST_DB_URL"));
+				HikariDataSource replica = pool("replica", System.getenv("LITE_TEST_REPLICA_URL"))) {
+			ReadWriteRoutingDataSource database = new ReadWriteRoutingDataSource(primary, replica,
+					Duration.ofSeconds(5), Duration.ofMinutes(1), new SimpleMeterRegistry());
+			database.afterPropertiesSet();
+			database.checkReplicaLag();
+			assertTrue(database.isReplicaUsable(), "replica lag check failed");
+
+			LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(database);
+			JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+			TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+			readOnly.setReadOnly(true);
+			logIn(1L);
+
+			List<String> pools = readOnly.execute(status -> {
+				jdbc.queryForObject("SELECT 1", Integer.class);
+				return activePools(primary, replica);
+			});
+			assertEquals(List.of("replica"), pools);
+
+			pools = new TransactionTemplate(new DataSourceTransactionManager(dataSource)).execute(status -> {
+				jdbc.queryForObject("SELECT 1", Integer.class);
+				return activePools(primary, replica);
+			});
+			assertEquals(List.of("primary"), pools);
+		}
+	}
+
+	private static HikariDataSource pool(String name, String url) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setPoolName(name);
+		dataSource.setJdbcUrl(url);
+		dataSource.setUsername(System.getenv().getOrDefault("LITE_TEST_DB_USER", "postgres"));
+		dataSource.setPassword(System.getenv().getOrDefault("LITE_TEST_DB_PASSWORD", ""));
+		dataSource.setMaximumPoolSize(2);
+		return dataSource;
+	}
+
+	private static List<String> activePools(HikariDataSource... pools) {
+		return Arrays.stream(pools)
+				.filter(pool -> pool.getHikariPoolMXBean() != null && pool.getHikariPoolMXBean().getActiveConnections() > 0)
+				.map(HikariDataSource::getPoolName)
+				.toList();
+	}
+
+	private static void logIn(Long userId) {
+		User user = new User();
+		user.setId(userId);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(user, null, List.of()));
+	}
+
+	private static void beginTransaction(boolean readOnly) {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+	}
+}
@@ -0,0 +1,221 @@
+package com.lite.lite_backend.controller;
+
+import com.lite.lite_backend.exception.BadRequestException;
+import com.lite.lite_backend.exception.ForbiddenException;
+import com.lite.lite_backend.exception.NotFoundException;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the problem-detail responses of {@link ApiExceptionHandler}, and (with LITE_BENCHMARK=true)
+ * measures the error path at the stack depth of the running app: the cost of the exception itself
+ * (stackless domain exception versus RuntimeException), and whole 404 responses per second for the
+ * previous message matching in the controller (empty body), the advice, and a problem detail returned
+ * by the controller (what the GET by id endpoints do).
+ */
+class ApiExceptionHandlerTests {
+
+	private static final int WARMUP_THROWS = 20_000;
+	private static final int MEASURED_THROWS = 100_000;
+	private static final int WARMUP_REQUESTS = 20_000;
+	private static final int MEASURED_REQUESTS = 100_000;
+
+	// Frames below the controller in the running app (Tomcat, Spring Security filter chain, proxies),
+	// which standalone MockMvc leaves out; a stack trace captures all of them
+	private static final int CONTAINER_FRAMES = 150;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(new ItemController())
+				.setControllerAdvice(new ApiExceptionHandler())
+				.build();
+	}
+
+	@Test
+	void missingIdIsProblemDetail() throws Exception {
+		mockMvc.perform(get("/items/404"))
+				.andExpect(status().isNotFound())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.status").value(404))
+				.andExpect(jsonPath("$.detail").value("Item not found"));
+	}
+
+	@Test
+	void foreignIdIsProblemDetail() throws Exception {
+		mockMvc.perform(get("/items/403"))
+				.andExpect(status().isForbidden())
+				.andExpect(jsonPath("$.detail").value("Unauthorized access"));
+	}
+
+	@Test
+	void badRequestKeepsItsMessage() throws Exception {
+		mockMvc.perform(get("/items/400"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.detail").value("Unknown item"));
+	}
+
+	@Test
+	void invalidArgumentIsBadRequestWithoutItsMessage() throws Exception {
+		mockMvc.perform(get("/items/422"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.detail").value("Invalid request"));
+	}
+
+	@Test
+	void returnedProblemIsTheSameResponse() throws Exception {
+		mockMvc.perform(get("/scanned/items/404"))
+				.andExpect(status().isNotFound())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.status").value(404))
+				.andExpect(jsonPath("$.detail").value("Item not found"));
+		mockMvc.perform(get("/scanned/items/403"))
+				.andExpect(status().isForbidden())
+				.andExpect(jsonPath("$.detail").value("Unauthorized access"));
+	}
+
+	@Test
+	@EnabledIfEnvironmentVariable(named = "LITE_BENCHMARK", matches = "true")
+	void stacklessExceptionIsCheaperToThrow() {
+		// Alternate the two and keep the best round of each, so JIT and GC order matter less
+		double runtimeException = 0;
+		double domainException = 0;
+		for (int round = 0; round < 3; round++) {
+			runtimeException = Math.max(runtimeException, throwsPerSecond(() -> new RuntimeException("Item not found")));
+			domainException = Math.max(domainException, throwsPerSecond(() -> new NotFoundException("Item")));
+		}
+		assertTrue(domainException > runtimeException,
+				"NotFoundException: " + domainException + "/s, RuntimeException: " + runtimeException + "/s");
+	}
+
+	@Test
+	@EnabledIfEnvironmentVariable(named = "LITE_BENCHMARK", matches = "true")
+	void returnedProblemIsNoSlowerThanBefore() throws Exception {
+		// Same log level as the running app (plain Logback defaults to DEBUG)
+		((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+		// Alternate the paths and keep the best round of each, so JIT and GC order matter less
+		double before = 0;
+		double advice = 0;
+		double returned = 0;
+		for (int round = 0; round < 3; round++) {
+			before = Math.max(before, responsesPerSecond("/legacy/items/404"));
+			advice = Math.max(advice, responsesPerSecond("/items/404"));
+			returned = Math.max(returned, responsesPerSecond("/scanned/items/404"));
+		}
+		String measured = String.format("404 responses per second: message matching %.0f, advice %.0f, returned %.0f",
+				before, advice, returned);
+		// A throw out of the handler is wrapped (with a full stack trace) by reflection, so the advice
+		// stays slower; the returned problem detail must keep up with the old empty 404 (10% noise allowed)
+		assertTrue(returned > advice, measured);
+		assertTrue(returned > before * 0.9, measured);
+	}
+
+	private double throwsPerSecond(Supplier<RuntimeException> exception) {
+		for (int i = 0; i < WARMUP_THROWS; i++) {
+			throwAtDepth(CONTAINER_FRAMES, exception);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_THROWS; i++) {
+			throwAtDepth(CONTAINER_FRAMES, exception);
+		}
+		return MEASURED_THROWS / ((System.nanoTime() - start) / 1e9);
+	}
+
+	private int throwAtDepth(int frames, Supplier<RuntimeException> exception) {
+		if (frames > 0) {
+			return throwAtDepth(frames - 1, exception);
+		}
+		try {
+			throw exception.get();
+		} catch (RuntimeException e) {
+			return e.getMessage().length();
+		}
+	}
+
+	private double responsesPerSecond(String path) throws Exception {
+		for (int i = 0; i < WARMUP_REQUESTS; i++) {
+			perform404(path);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_REQUESTS; i++) {
+			perform404(path);
+		}
+		return MEASURED_REQUESTS / ((System.nanoTime() - start) / 1e9);
+	}
+
+	private void perform404(String path) throws Exception {
+		assertEquals(404, atDepth(CONTAINER_FRAMES, path));
+	}
+
+	private int atDepth(int frames, String path) throws Exception {
+		if (frames > 0) {
+			return atDepth(frames - 1, path);
+		}
+		return mockMvc.perform(get(path)).andReturn().getResponse().getStatus();
+	}
+
+	@RestController
+	static class ItemController {
+
+		@GetMapping("/items/{id}")
+		String item(@PathVariable int id) {
+			switch (id) {
+				case 404 -> throw new NotFoundException("Item");
+				case 403 -> throw new ForbiddenException();
+				case 400 -> throw new BadRequestException("Unknown item");
+				case 422 -> throw new IllegalArgumentException("Index 7 out of bounds for length 3");
+				default -> {
+					return "item";
+				}
+			}
+		}
+
+		// How the GET by id endpoints answer a missing or foreign id
+		@GetMapping("/scanned/items/{id}")
+		ResponseEntity<?> scannedItem(@PathVariable int id) {
+			return switch (id) {
+				case 404 -> ApiExceptionHandler.problem(new NotFoundException("Item"));
+				case 403 -> ApiExceptionHandler.problem(new ForbiddenException());
+				default -> ResponseEntity.ok("item");
+			};
+		}
+
+		// How the controllers handled a missing id before
+		@GetMapping("/legacy/items/{id}")
+		ResponseEntity<String> legacyItem(@PathVariable int id) {
+			try {
+				throw new RuntimeException("Item not found");
+			} catch (RuntimeException e) {
+				if (e.getMessage().contains("not found")) {
+					return ResponseEntity.notFound().build();
+				} else if (e.getMessage().contains("Unauthorized")) {
+					return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+				}
+				return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+			}
+		}
+	}
+}
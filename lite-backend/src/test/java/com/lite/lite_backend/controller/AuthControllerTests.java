@@ -0,0 +1,118 @@
+package com.lite.lite_backend.controller;
+
+import com.lite.lite_backend.exception.ConflictException;
+import com.lite.lite_backend.exception.PasswordHashingBusyException;
+import com.lite.lite_backend.repository.UserRepository;
+import com.lite.lite_backend.service.AuthService;
+import com.lite.lite_backend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Status codes of the login and registration endpoints.
+ */
+class AuthControllerTests {
+
+	private AuthService authService;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		authService = mock(AuthService.class);
+		mockMvc = MockMvcBuilders.standaloneSetup(new AuthController(authService))
+				.setControllerAdvice(new ApiExceptionHandler())
+				.build();
+	}
+
+	@Test
+	void saturatedHashingPoolOnLoginIsTooManyRequests() throws Exception {
+		when(authService.login(any())).thenThrow(new PasswordHashingBusyException());
+
+		mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"jane@example.com\",\"password\":\"secret\"}"))
+				.andExpect(status().isTooManyRequests());
+	}
+
+	@Test
+	void saturatedHashingPoolOnRegisterIsTooManyRequests() throws Exception {
+		when(authService.register(any())).thenThrow(new PasswordHashingBusyException());
+
+		mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Jane\",\"email\":\"jane@example.com\",\"password\":\"secret\"}"))
+				.andExpect(status().isTooManyRequests());
+	}
+
+	@Test
+	void saturatedHashingPoolForUnknownEmailIsTooManyRequests() throws Exception {
+		// Real provider: the timing-attack hashing of an unknown email hits the saturated pool
+		PasswordEncoder saturated = mock(PasswordEncoder.class);
+		when(saturated.encode(any())).thenThrow(new PasswordHashingBusyException());
+		when(saturated.matches(any(), any())).thenThrow(new PasswordHashingBusyException());
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(email -> {
+			throw new UsernameNotFoundException("Unknown email");
+		});
+		provider.setPasswordEncoder(saturated);
+		AuthService realAuthService = new AuthService(mock(UserRepository.class), saturated, mock(JwtUtil.class),
+				new ProviderManager(provider));
+		MockMvc realMockMvc = MockMvcBuilders.standaloneSetup(new AuthController(realAuthService))
+				.setControllerAdvice(new ApiExceptionHandler())
+				.build();
+
+		realMockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"nobody@example.com\",\"password\":\"secret\"}"))
+				.andExpect(status().isTooManyRequests());
+	}
+
+	@Test
+	void saturatedHashingPoolWrappedByProviderIsTooManyRequests() throws Exception {
+		// What fails while the provider loads the user reaches the handler wrapped
+		when(authService.login(any())).thenThrow(
+				new InternalAuthenticationServiceException("Busy", new PasswordHashingBusyException()));
+
+		mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"nobody@example.com\",\"password\":\"secret\"}"))
+				.andExpect(status().isTooManyRequests());
+	}
+
+	@Test
+	void wrongCredentialsAreUnauthorized() throws Exception {
+		when(authService.login(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+		mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"jane@example.com\",\"password\":\"wrong\"}"))
+				.andExpect(status().isUnauthorized())
+				.andExpect(jsonPath("$.detail").value("Invalid email or password"));
+	}
+
+	@Test
+	void takenEmailIsConflict() throws Exception {
+		when(authService.register(any())).thenThrow(new ConflictException("Email already registered"));
+
+		mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Jane\",\"email\":\"jane@example.com\",\"password\":\"secret\"}"))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.detail").value("Email already registered"));
+	}
+}
@@ -0,0 +1,106 @@
+package com.lite.lite_backend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the migrations give every repository access path an index, by running
+ * EXPLAIN on the SQL the repositories issue (owner filter + ordering) against a seeded schema.
+ *
+ * Needs a PostgreSQL database: set LITE_TEST_DB_URL (and LITE_TEST_DB_USER / LITE_TEST_DB_PASSWORD).
+ * The test works in a throwaway schema and drops it afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "LITE_TEST_DB_URL", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexUsageTests {
+
+	private static final String SCHEMA = "lite_index_test";
+
+	private Connection connection;
+
+	@BeforeAll
+	void migrateAndSeed() throws SQLException {
+		String url = System.getenv("LITE_TEST_DB_URL");
+		String user = System.getenv().getOrDefault("LITE_TEST_DB_USER", "postgres");
+		String password = System.getenv().getOrDefault("LITE_TEST_DB_PASSWORD", "");
+
+		Flyway.configure()
+				.dataSource(url, user, password)
+				.schemas(SCHEMA)
+				.createSchemas(true)
+				.load()
+				.migrate();
+
+		connection = DriverManager.getConnection(url, user, password);
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("SET search_path TO " + SCHEMA);
+			statement.execute("INSERT INTO users (id, email, password, name) "
+					+ "SELECT i, 'user' || i || '@example.com', 'x', 'User ' || i FROM generate_series(1, 50) i");
+			statement.execute("INSERT INTO tasks (title, status, position, due_date, created_at, updated_at, user_id) "
+					+ "SELECT 'Task ' || i, i % 3, i, "
+					+ "CASE WHEN i % 20 = 0 THEN now() END, now(), now(), i % 50 + 1 FROM generate_series(1, 20000) i");
+			statement.execute("INSERT INTO job_applications (company, status, date_applied, user_id) "
+					+ "SELECT 'Company ' || i, 0, current_date - i % 365, i % 50 + 1 FROM generate_series(1, 20000) i");
+			// Explicit ids: sequence ids come in blocks of 50, and the rows below reference each other
+			statement.execute("INSERT INTO folders (id, name, user_id) "
+					+ "SELECT i, 'Root ' || i, i % 50 + 1 FROM generate_series(1, 500) i");
+			statement.execute("INSERT INTO folders (id, name, user_id, parent_folder_id) "
+					+ "SELECT 500 + i, 'Folder ' || i, i % 50 + 1, i % 500 + 1 FROM generate_series(1, 20000) i");
+			statement.execute("INSERT INTO notes (id, title, user_id, folder_id, created_at) "
+					+ "SELECT i, 'Note ' || i, i % 50 + 1, CASE WHEN i % 40 <> 0 THEN i % 20000 + 1 END, now() "
+					+ "FROM generate_series(1, 20000) i");
+			statement.execute("INSERT INTO note_versions (note_id, title, created_at, version_number) "
+					+ "SELECT i % 20000 + 1, 'Version', now(), i FROM generate_series(1, 40000) i");
+			statement.execute("ANALYZE");
+			// Only tells whether an index can serve the query; cost choices depend on data size
+			statement.execute("SET enable_seqscan = off");
+		}
+	}
+
+	@AfterAll
+	void dropSchema() throws SQLException {
+		if (connection != null) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+			}
+			connection.close();
+		}
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@CsvSource(delimiter = '|', value = {
+			"findByUserAndStatusOrderByPositionAsc | SELECT * FROM tasks WHERE user_id = 7 AND status = 0 ORDER BY position | idx_tasks_user_status_position",
+			"findByUserOrderByPositionAsc | SELECT * FROM tasks WHERE user_id = 7 ORDER BY position | idx_tasks_user_position",
+			"findByUserOrderByDateAppliedDesc | SELECT * FROM job_applications WHERE user_id = 7 ORDER BY date_applied DESC | idx_job_applications_user_date_applied_id",
+			"findByUserAndParentFolderIsNull | SELECT * FROM folders WHERE user_id = 7 AND parent_folder_id IS NULL | idx_folders_user_root",
+			"findByUserAndParentFolder | SELECT * FROM folders WHERE user_id = 7 AND parent_folder_id = 8 | idx_folders_parent_folder",
+			"findByUserAndFolder (root) | SELECT * FROM notes WHERE user_id = 7 AND folder_id IS NULL | idx_notes_user_root",
+			"findByUserAndFolder | SELECT * FROM notes WHERE user_id = 7 AND folder_id = 8 | idx_notes_folder",
+			"findByNoteOrderByVersionNumberDesc | SELECT * FROM note_versions WHERE note_id = 8 ORDER BY version_number DESC | idx_note_versions_note_version",
+			"findChangedSince (tasks) | SELECT * FROM tasks WHERE user_id = 7 AND change_xid >= 9000000000000000000 | idx_tasks_user_change_xid",
+			"findChangedSince (notes) | SELECT * FROM notes WHERE user_id = 7 AND change_xid >= 9000000000000000000 | idx_notes_user_change_xid"
+	})
+	void queryUsesIndex(String repositoryMethod, String sql, String index) throws SQLException {
+		StringBuilder plan = new StringBuilder();
+		try (Statement statement = connection.createStatement();
+				ResultSet rows = statement.executeQuery("EXPLAIN " + sql)) {
+			while (rows.next()) {
+				plan.append(rows.getString(1)).append('\n');
+			}
+		}
+		assertTrue(plan.toString().contains(index), repositoryMethod + " should use " + index + ", plan:\n" + plan);
+	}
+}
@@ -0,0 +1,108 @@
+package com.lite.lite_backend.service;
+
+import com.lite.lite_backend.dto.AuthResponse;
+import com.lite.lite_backend.dto.LoginRequest;
+import com.lite.lite_backend.dto.RegisterRequest;
+import com.lite.lite_backend.entity.User;
+import com.lite.lite_backend.repository.UserRepository;
+import com.lite.lite_backend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Locks in the number of user reads per login / registration.
+ * Every UserRepository call is one SQL statement, so counting calls counts statements.
+ */
+class AuthServiceTests {
+
+	private UserRepository userRepository;
+	private JwtUtil jwtUtil;
+	private AuthenticationManager authenticationManager;
+	private AuthService authService;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		jwtUtil = mock(JwtUtil.class);
+		authenticationManager = mock(AuthenticationManager.class);
+		PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+		when(passwordEncoder.encode(any())).thenReturn("hashed");
+		when(jwtUtil.generateToken(any())).thenReturn("token");
+
+		authService = new AuthService(userRepository, passwordEncoder, jwtUtil, authenticationManager);
+	}
+
+	@Test
+	void loginReusesAuthenticatedPrincipal() {
+		User user = new User();
+		user.setEmail("jane@example.com");
+		user.setName("Jane");
+		when(authenticationManager.authenticate(any())).thenReturn(
+				new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+
+		AuthResponse response = authService.login(new LoginRequest("jane@example.com", "secret"));
+
+		assertEquals("Jane", response.getUsername());
+		// The authentication provider did the single user read; the service must not add any
+		verifyNoInteractions(userRepository);
+		verify(authenticationManager, times(1)).authenticate(any());
+	}
+
+	@Test
+	void loginWithLegacyHashReadsUserOnce() {
+		User user = new User();
+		user.setId(7L);
+		user.setEmail("jane@example.com");
+		user.setName("Jane");
+		user.setPassword("{pbkdf2}legacy");
+		when(userRepository.findByEmail("jane@example.com")).thenReturn(Optional.of(user));
+		PasswordEncoder legacyEncoder = mock(PasswordEncoder.class);
+		when(legacyEncoder.matches("secret", "{pbkdf2}legacy")).thenReturn(true);
+		when(legacyEncoder.upgradeEncoding("{pbkdf2}legacy")).thenReturn(true);
+		when(legacyEncoder.encode("secret")).thenReturn("{bcrypt}rehashed");
+		CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository);
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+		provider.setPasswordEncoder(legacyEncoder);
+		provider.setUserDetailsPasswordService(userDetailsService);
+		AuthService realAuthService = new AuthService(userRepository, legacyEncoder, jwtUtil,
+				new ProviderManager(provider));
+
+		AuthResponse response = realAuthService.login(new LoginRequest("jane@example.com", "secret"));
+
+		assertEquals("Jane", response.getUsername());
+		// One read by the provider, then the rehash is written without loading the user again
+		verify(userRepository, times(1)).findByEmail("jane@example.com");
+		verify(userRepository, times(1)).updatePassword(7L, "{bcrypt}rehashed");
+		verifyNoMoreInteractions(userRepository);
+	}
+
+	@Test
+	void registerReadsUserOnce() {
+		when(userRepository.existsByEmail("jane@example.com")).thenReturn(false);
+		when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		AuthResponse response = authService.register(new RegisterRequest("Jane", "jane@example.com", "secret"));
+
+		assertEquals("Jane", response.getUsername());
+		verify(userRepository, times(1)).existsByEmail("jane@example.com");
+		verify(userRepository, times(1)).save(any(User.class));
+		verifyNoMoreInteractions(userRepository);
+	}
+}
@@ -0,0 +1,49 @@
+package com.lite.lite_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Which URLs the storage cleanup may delete: only uploads of the configured cloud, identified by
+ * resource type and public id whatever their version.
+ */
+class CloudinaryServiceTests {
+
+	private final CloudinaryService cloudinaryService = new CloudinaryService("lite", "key", "secret");
+
+	@Test
+	void rawUploadKeepsItsExtension() {
+		CloudinaryService.StoredFile file =
+				cloudinaryService.parseUrl("https://res.cloudinary.com/lite/raw/upload/v1712/lite-app/cvs/my_cv.pdf");
+
+		assertEquals(new CloudinaryService.StoredFile("raw", "lite-app/cvs/my_cv.pdf"), file);
+	}
+
+	@Test
+	void imageUploadDropsItsFormat() {
+		CloudinaryService.StoredFile file =
+				cloudinaryService.parseUrl("https://res.cloudinary.com/lite/image/upload/lite-app/documents/scan.png");
+
+		assertEquals(new CloudinaryService.StoredFile("image", "lite-app/documents/scan"), file);
+	}
+
+	@Test
+	void versionsOfOneUploadShareTheKey() {
+		assertEquals(
+				cloudinaryService.parseUrl("https://res.cloudinary.com/lite/raw/upload/v1/lite-app/cvs/cv.pdf").key(),
+				cloudinaryService.parseUrl("https://res.cloudinary.com/lite/raw/upload/v2/lite-app/cvs/cv.pdf").key());
+	}
+
+	@Test
+	void otherAccountsAndHostsAreNotOurs() {
+		assertNull(cloudinaryService.parseUrl("https://res.cloudinary.com/someone-else/raw/upload/v1/cv.pdf"));
+		assertNull(cloudinaryService.parseUrl("https://evil.example.com/lite/raw/upload/v1/cv.pdf"));
+		assertNull(cloudinaryService.parseUrl("https://evil.example.com/x/upload/lite-app/cvs/cv.pdf"));
+		assertNull(cloudinaryService.parseUrl("ftp://res.cloudinary.com/lite/raw/upload/v1/cv.pdf"));
+		assertNull(cloudinaryService.parseUrl("https://res.cloudinary.com/lite/raw/private/v1/cv.pdf"));
+		assertNull(cloudinaryService.parseUrl("not a url"));
+		assertNull(cloudinaryService.parseUrl(null));
+	}
+}
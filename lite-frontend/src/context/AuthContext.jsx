@@ -95,6 +95,18 @@ export const AuthProvider = ({ children }) => {
         }
     };
 
+    // Replace the session's token and user info, e.g. with the token the server
+    // issues after a password or email change (the previous token stops working)
+    const updateSession = (jwtToken, userInfo) => {
+        const nextUser = { ...user, ...userInfo };
+        if (jwtToken) {
+            localStorage.setItem('token', jwtToken);
+            setToken(jwtToken);
+        }
+        localStorage.setItem('user', JSON.stringify(nextUser));
+        setUser(nextUser);
+    };
+
     // Logout function
     const logout = () => {
         localStorage.removeItem('token');
@@ -108,6 +120,7 @@ export const AuthProvider = ({ children }) => {
         token,
         login,
         register,
+        updateSession,
         logout,
         loading,
     };
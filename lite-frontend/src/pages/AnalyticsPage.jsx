@@ -7,7 +7,7 @@ function AnalyticsPage() {
     const { user, logout } = useContext(AuthContext);
     const navigate = useNavigate();
     const [stats, setStats] = useState({
-        jobs: { total: 0, applied: 0, interview: 0, offer: 0, rejected: 0 },
+        jobs: { total: 0, submitted: 0, inProgress: 0, awaitingResponse: 0, rejected: 0 },
         tasks: { total: 0, todo: 0, inProgress: 0, done: 0 },
         notes: { total: 0 }
     });
@@ -22,44 +22,35 @@ function AnalyticsPage() {
         try {
             const token = localStorage.getItem('token');
 
-            // Fetch Jobs
-            const jobsRes = await fetch('http://localhost:8080/api/jobs', {
+            // Counts are aggregated on the server
+            const res = await fetch('http://localhost:8080/api/analytics/summary', {
                 headers: { 'Authorization': `Bearer ${token}` }
             });
-            const jobs = jobsRes.ok ? await jobsRes.json() : [];
+            if (!res.ok) {
+                throw new Error(`Analytics request failed: ${res.status}`);
+            }
+            const summary = await res.json();
+            const jobsByStatus = summary.jobs?.byStatus || {};
+            const tasksByStatus = summary.tasks?.byStatus || {};
 
-            // Fetch Tasks
-            const tasksRes = await fetch('http://localhost:8080/api/tasks', {
-                headers: { 'Authorization': `Bearer ${token}` }
-            });
-            const tasks = tasksRes.ok ? await tasksRes.json() : [];
-
-            // Fetch Knowledge Base
-            const kbRes = await fetch('http://localhost:8080/api/kb/tree', {
-                headers: { 'Authorization': `Bearer ${token}` }
-            });
-            const kbData = kbRes.ok ? await kbRes.json() : { notes: [], documents: [] };
-
-            // Calculate stats - count both notes and documents
-            const totalKBItems = (kbData.notes?.length || 0) + (kbData.documents?.length || 0);
-
-            // Calculate stats
             setStats({
                 jobs: {
-                    total: jobs.length,
-                    applied: jobs.filter(j => j.status === 'Applied').length,
-                    interview: jobs.filter(j => j.status === 'Interview').length,
-                    offer: jobs.filter(j => j.status === 'Offer').length,
-                    rejected: jobs.filter(j => j.status === 'Rejected').length
+                    total: summary.jobs?.total || 0,
+                    // Keys are the JobStatus labels returned by the server
+                    submitted: jobsByStatus['Submitted'] || 0,
+                    inProgress: jobsByStatus['In Progress'] || 0,
+                    awaitingResponse: jobsByStatus['Awaiting Response'] || 0,
+                    rejected: jobsByStatus['Rejected'] || 0
                 },
                 tasks: {
-                    total: tasks.length,
-                    todo: tasks.filter(t => t.status === 'TODO').length,
-                    inProgress: tasks.filter(t => t.status === 'IN_PROGRESS').length,
-                    done: tasks.filter(t => t.status === 'DONE').length
+                    total: summary.tasks?.total || 0,
+                    todo: tasksByStatus['TODO'] || 0,
+                    inProgress: tasksByStatus['IN_PROGRESS'] || 0,
+                    done: tasksByStatus['DONE'] || 0
                 },
                 notes: {
-                    total: totalKBItems
+                    // Count both notes and documents
+                    total: (summary.notes || 0) + (summary.documents || 0)
                 }
             });
         } catch (error) {
@@ -178,50 +169,50 @@ function AnalyticsPage() {
                                 JOB_STATUS_BREAKDOWN
                             </h3>
                             <div className="space-y-4">
-                                {/* Applied */}
+                                {/* Submitted */}
                                 <div>
                                     <div className="flex items-center justify-between mb-2">
-                                        <span className="text-sm font-mono text-dark-text">APPLIED</span>
+                                        <span className="text-sm font-mono text-dark-text">SUBMITTED</span>
                                         <span className="text-sm font-mono text-accent-blue">
-                                            {stats.jobs.applied} ({calculatePercentage(stats.jobs.applied, stats.jobs.total)}%)
+                                            {stats.jobs.submitted} ({calculatePercentage(stats.jobs.submitted, stats.jobs.total)}%)
                                         </span>
                                     </div>
                                     <div className="h-2 bg-dark-card rounded-full overflow-hidden">
                                         <div
                                             className="h-full bg-accent-blue transition-all duration-500"
-                                            style={{ width: `${calculatePercentage(stats.jobs.applied, stats.jobs.total)}%` }}
+                                            style={{ width: `${calculatePercentage(stats.jobs.submitted, stats.jobs.total)}%` }}
                                         ></div>
                                     </div>
                                 </div>
 
-                                {/* Interview */}
+                                {/* In Progress */}
                                 <div>
                                     <div className="flex items-center justify-between mb-2">
-                                        <span className="text-sm font-mono text-dark-text">INTERVIEW</span>
+                                        <span className="text-sm font-mono text-dark-text">IN_PROGRESS</span>
                                         <span className="text-sm font-mono text-accent-orange">
-                                            {stats.jobs.interview} ({calculatePercentage(stats.jobs.interview, stats.jobs.total)}%)
+                                            {stats.jobs.inProgress} ({calculatePercentage(stats.jobs.inProgress, stats.jobs.total)}%)
                                         </span>
                                     </div>
                                     <div className="h-2 bg-dark-card rounded-full overflow-hidden">
                                         <div
                                             className="h-full bg-accent-orange transition-all duration-500"
-                                            style={{ width: `${calculatePercentage(stats.jobs.interview, stats.jobs.total)}%` }}
+                                            style={{ width: `${calculatePercentage(stats.jobs.inProgress, stats.jobs.total)}%` }}
                                         ></div>
                                     </div>
                                 </div>
 
-                                {/* Offer */}
+                                {/* Awaiting Response */}
                                 <div>
                                     <div className="flex items-center justify-between mb-2">
-                                        <span className="text-sm font-mono text-dark-text">OFFER</span>
+                                        <span className="text-sm font-mono text-dark-text">AWAITING_RESPONSE</span>
                                         <span className="text-sm font-mono text-accent-green">
-                                            {stats.jobs.offer} ({calculatePercentage(stats.jobs.offer, stats.jobs.total)}%)
+                                            {stats.jobs.awaitingResponse} ({calculatePercentage(stats.jobs.awaitingResponse, stats.jobs.total)}%)
                                         </span>
                                     </div>
                                     <div className="h-2 bg-dark-card rounded-full overflow-hidden">
                                         <div
                                             className="h-full bg-accent-green transition-all duration-500"
-                                            style={{ width: `${calculatePercentage(stats.jobs.offer, stats.jobs.total)}%` }}
+                                            style={{ width: `${calculatePercentage(stats.jobs.awaitingResponse, stats.jobs.total)}%` }}
                                         ></div>
                                     </div>
                                 </div>
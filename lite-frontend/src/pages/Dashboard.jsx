@@ -51,26 +51,19 @@ const Dashboard = () => {
         try {
             const token = localStorage.getItem('token');
 
-            const [jobsRes, tasksRes, kbRes] = await Promise.all([
-                fetch('http://localhost:8080/api/jobs', {
-                    headers: { 'Authorization': `Bearer ${token}` }
-                }),
-                fetch('http://localhost:8080/api/tasks', {
-                    headers: { 'Authorization': `Bearer ${token}` }
-                }),
-                fetch('http://localhost:8080/api/kb/tree', {
-                    headers: { 'Authorization': `Bearer ${token}` }
-                })
-            ]);
-
-            const jobs = jobsRes.ok ? await jobsRes.json() : [];
-            const tasks = tasksRes.ok ? await tasksRes.json() : [];
-            const kbData = kbRes.ok ? await kbRes.json() : { notes: [], documents: [] };
+            // Counters are maintained on the server, nothing is listed
+            const res = await fetch('http://localhost:8080/api/dashboard/counters', {
+                headers: { 'Authorization': `Bearer ${token}` }
+            });
+            if (!res.ok) {
+                return;
+            }
+            const counters = await res.json();
 
             setStats({
-                jobs: jobs.length,
-                tasks: tasks.filter(t => t.status !== 'DONE').length,
-                kb: (kbData.notes?.length || 0) + (kbData.documents?.length || 0)
+                jobs: counters.jobs || 0,
+                tasks: (counters.tasks || 0) - (counters.tasksByStatus?.DONE || 0),
+                kb: (counters.notes || 0) + (counters.documents || 0)
             });
         } catch (error) {
             console.error('Error fetching stats:', error);
@@ -5,7 +5,7 @@ import { useNavigate } from 'react-router-dom';
 import { exportFullBackup } from '../utils/exportUtils';
 
 const UserSettingsPage = () => {
-    const { user, logout } = useContext(AuthContext);
+    const { user, logout, updateSession } = useContext(AuthContext);
     const { theme, toggleTheme } = useTheme();
     const navigate = useNavigate();
 
@@ -55,6 +55,10 @@ const UserSettingsPage = () => {
                 throw new Error('Failed to update profile');
             }
 
+            // A changed email comes back with a new token for it
+            const { jwtToken, username, email } = await response.json();
+            updateSession(jwtToken, { username, email });
+
             showMessage('success', 'Profile updated successfully!');
         } catch (error) {
             showMessage('error', error.message);
@@ -96,6 +100,10 @@ const UserSettingsPage = () => {
                 throw new Error(errorText || 'Failed to change password');
             }
 
+            // The password change revoked the old token; keep the session with the new one
+            const { jwtToken } = await response.json();
+            updateSession(jwtToken, {});
+
             showMessage('success', 'Password changed successfully!');
             setPasswordData({
                 currentPassword: '',